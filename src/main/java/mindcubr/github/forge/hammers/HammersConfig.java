@@ -0,0 +1,275 @@
+package mindcubr.github.forge.hammers;
+
+import mindcubr.github.forge.hammers.area.shape.HammerShape;
+import net.minecraftforge.common.config.Configuration;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+
+/**
+ * The <em>HammersConfig</em> class contains every value of this modification,
+ * that is configurable by an administrator within the configuration file.
+ * <p>Every value in here is set to its default, until {@link #load(File)}
+ * is invoked by the {@link HammersMod} within the pre-initialization.
+ *
+ * @author mindcubr
+ * @see Configuration
+ * @since 4.0.0-alpha
+ */
+public final class HammersConfig {
+
+    /**
+     * The category containing every value related to the area breaking.
+     */
+    public static final String CATEGORY_BREAKING = "breaking";
+
+    /**
+     * The category containing every value only relevant to the client.
+     */
+    public static final String CATEGORY_CLIENT = "client";
+
+    /**
+     * Whether a hammer swing is always queued as break job, that is processed
+     * over the following ticks, instead of breaking every block at once if
+     * the budgets admit it.
+     */
+    public static boolean deferredBreaking = false;
+
+    /**
+     * The maximum estimated cost, that hammer swings of every player and
+     * world are allowed to take within a single server tick.
+     * <p>The cost of a swing is roughly its amount of blocks, plus the touched
+     * chunks and the expected drops.
+     */
+    public static int blocksPerTick = 1024;
+
+    /**
+     * The maximum amount of microseconds that queued break jobs are allowed
+     * to take within a single server tick.
+     */
+    public static int microsPerTick = 2000;
+
+    /**
+     * The estimated cost a single player regains per server tick.
+     */
+    public static int playerBlocksPerTick = 64;
+
+    /**
+     * The maximum estimated cost a single player is able to save up and spend at once.
+     */
+    public static int playerBurst = 1024;
+
+    /**
+     * Whether the drops of a hammer swing are put into the inventory of
+     * the player directly, so only the overflow is spawned as entities.
+     */
+    public static boolean directPickup = false;
+
+    /**
+     * The shape of a hammer, that has no shape selected by its player.
+     */
+    public static HammerShape defaultShape = HammerShape.CUBE;
+
+    /**
+     * Blocks that are breakable by hammers, even if they are not a normal cube.
+     * <p>Every entry is either <code>modid:name</code> or <code>modid:name@metadata</code>.
+     */
+    public static String[] breakableInclude = {};
+
+    /**
+     * Blocks that are never breakable by hammers.
+     * <p>Every entry is either <code>modid:name</code> or <code>modid:name@metadata</code>.
+     */
+    public static String[] breakableExclude = {};
+
+    /**
+     * Whether hammer swings clear their cells directly within the chunk sections
+     * and notify only the neighbors outside of the removed volume.
+     */
+    public static boolean bulkRemoval = true;
+
+    /**
+     * Whether the lighting of a hammer swing is recalculated over the following
+     * world ticks, instead of at the end of the swing.
+     */
+    public static boolean deferredLighting = false;
+
+    /**
+     * The maximum amount of queued light seeds recalculated within a single world tick.
+     */
+    public static int lightsPerTick = 256;
+
+    /**
+     * The maximum amount of cells of a single hammer swing, that spawn break particles.
+     */
+    public static int effectCellsPerSwing = 16;
+
+    /**
+     * The maximum amount of hammer break particles spawned within a single frame.
+     */
+    public static int particlesPerFrame = 256;
+
+    /**
+     * The amount of worker threads planning hammer swings, or zero to plan
+     * on the main thread.
+     */
+    public static int plannerThreads = 0;
+
+    /**
+     * Whether hammers dig as slow as the hardest block they are going to break,
+     * instead of as fast as the targeted block.
+     */
+    public static boolean areaDigSpeed = true;
+
+    /**
+     * Whether the drops of deterministic blocks are cached and
+     * shared between the broken blocks of hammer swings.
+     */
+    public static boolean dropCache = true;
+
+    /**
+     * The maximum amount of ore blocks broken by a single swing in vein mode.
+     */
+    public static int veinLimit = 64;
+
+    /**
+     * The maximum amount of logs felled by a single swing of the unbreaking axe.
+     */
+    public static int fellingLimit = 256;
+
+    /**
+     * Whether every block broken by a hammer swing is recorded into the journal.
+     */
+    public static boolean journal = true;
+
+    /**
+     * The amount of journal records buffered, before they are written to the file.
+     */
+    public static int journalBuffer = 4096;
+
+    /**
+     * Whether the client hides the blocks of a hammer swing right away,
+     * before the server confirms them.
+     */
+    public static boolean clientPrediction = true;
+
+    /**
+     * The amount of client ticks a predicted block stays hidden without the
+     * swing being acknowledged by the server, before it is restored.
+     */
+    public static int predictionTicks = 40;
+
+    /**
+     * Whether the client outlines the blocks, the held hammer would break.
+     */
+    public static boolean areaPreview = true;
+
+    /**
+     * Whether hammers are degraded step by step, while the server is lagging.
+     */
+    public static boolean watchdog = true;
+
+    /**
+     * The mean milliseconds per tick, above which hammers are degraded by one step.
+     */
+    public static int degradeMspt = 45;
+
+    /**
+     * The mean milliseconds per tick, below which hammers are restored by one step,
+     * always lower than the {@link #degradeMspt}.
+     */
+    public static int recoverMspt = 35;
+
+    private HammersConfig() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Loads every value out of the configuration {@code file} and saves
+     * the defaults of missing values back to it.
+     *
+     * @param file the configuration file, suggested by the FML
+     */
+    static void load(@Nonnull File file) {
+        Validate.notNull(file);
+        Configuration config = new Configuration(file);
+        config.load();
+
+        deferredBreaking = config.getBoolean("deferredBreaking", CATEGORY_BREAKING, deferredBreaking,
+                "Queue hammer swings and break their blocks over the following ticks");
+        blocksPerTick = config.getInt("blocksPerTick", CATEGORY_BREAKING, blocksPerTick, 1, 65536,
+                "Maximum estimated cost of hammer swings of all players per server tick, about one per block");
+        microsPerTick = config.getInt("microsPerTick", CATEGORY_BREAKING, microsPerTick, 1, 50000,
+                "Maximum amount of microseconds queued hammer blocks may take per server tick");
+        playerBlocksPerTick = config.getInt("playerBlocksPerTick", CATEGORY_BREAKING, playerBlocksPerTick, 1, 65536,
+                "Estimated cost of hammer swings a single player regains per server tick");
+        playerBurst = config.getInt("playerBurst", CATEGORY_BREAKING, playerBurst, 1, 1048576,
+                "Maximum estimated cost of hammer swings a single player can spend at once");
+        directPickup = config.getBoolean("directPickup", CATEGORY_BREAKING, directPickup,
+                "Put the drops of a hammer swing into the inventory of the player, only the overflow is dropped");
+        defaultShape = HammerShape.byName(config.getString("defaultShape", CATEGORY_BREAKING,
+                defaultShape.name(), "Shape of hammers without a selected shape (sneak and use to select)",
+                shapeNames()), defaultShape);
+        breakableInclude = config.getStringList("breakableInclude", CATEGORY_BREAKING, breakableInclude,
+                "Blocks hammers break even if they are no normal cube (modid:name or modid:name@metadata)");
+        breakableExclude = config.getStringList("breakableExclude", CATEGORY_BREAKING, breakableExclude,
+                "Blocks hammers never break (modid:name or modid:name@metadata)");
+        bulkRemoval = config.getBoolean("bulkRemoval", CATEGORY_BREAKING, bulkRemoval,
+                "Clear hammer blocks directly in the chunks and notify only the neighbors outside of the broken area");
+        deferredLighting = config.getBoolean("deferredLighting", CATEGORY_BREAKING, deferredLighting,
+                "Recalculate the lighting of hammer swings over the following ticks");
+        lightsPerTick = config.getInt("lightsPerTick", CATEGORY_BREAKING, lightsPerTick, 1, 65536,
+                "Maximum amount of queued hammer light seeds recalculated per world tick");
+        effectCellsPerSwing = config.getInt("effectCellsPerSwing", CATEGORY_CLIENT, effectCellsPerSwing, 0, 4096,
+                "Maximum amount of blocks of a hammer swing showing break particles, the rest is sampled out");
+        particlesPerFrame = config.getInt("particlesPerFrame", CATEGORY_CLIENT, particlesPerFrame, 0, 65536,
+                "Maximum amount of hammer break particles spawned per frame");
+        plannerThreads = config.getInt("plannerThreads", CATEGORY_BREAKING, plannerThreads, 0, 64,
+                "Worker threads planning hammer swings off the main thread, zero plans on the main thread");
+        areaDigSpeed = config.getBoolean("areaDigSpeed", CATEGORY_BREAKING, areaDigSpeed,
+                "Hammers dig as slow as the hardest block they are going to break");
+        dropCache = config.getBoolean("dropCache", CATEGORY_BREAKING, dropCache,
+                "Cache the drops of blocks, that always drop the same, instead of computing them per broken block");
+        veinLimit = config.getInt("veinLimit", CATEGORY_BREAKING, veinLimit, 1, 1024,
+                "Maximum amount of ore blocks broken by a single hammer swing in vein mode");
+        fellingLimit = config.getInt("fellingLimit", CATEGORY_BREAKING, fellingLimit, 1, 4096,
+                "Maximum amount of logs felled by a single swing of the unbreaking axe in felling mode");
+        journal = config.getBoolean("journal", CATEGORY_BREAKING, journal,
+                "Record every block broken by hammers, so swings can be rolled back with /hammerrollback");
+        journalBuffer = config.getInt("journalBuffer", CATEGORY_BREAKING, journalBuffer, 64, 1048576,
+                "Amount of journal records buffered off the heap, before they are written to the file");
+        clientPrediction = config.getBoolean("clientPrediction", CATEGORY_CLIENT, clientPrediction,
+                "Hide the blocks of a hammer swing right away, instead of waiting for the server");
+        predictionTicks = config.getInt("predictionTicks", CATEGORY_CLIENT, predictionTicks, 1, 1200,
+                "Ticks a predicted hammer block stays hidden without acknowledgement of the server, before it is restored");
+        areaPreview = config.getBoolean("areaPreview", CATEGORY_CLIENT, areaPreview,
+                "Outline the blocks, the held hammer would break along with the looked at block");
+        watchdog = config.getBoolean("watchdog", CATEGORY_BREAKING, watchdog,
+                "Degrade hammers step by step while the server lags: deferred, smaller radius, then center only");
+        degradeMspt = config.getInt("degradeMspt", CATEGORY_BREAKING, degradeMspt, 2, 1000,
+                "Mean milliseconds per tick, above which hammers are degraded by one step every five seconds");
+        recoverMspt = config.getInt("recoverMspt", CATEGORY_BREAKING, recoverMspt, 1, 1000,
+                "Mean milliseconds per tick, below which hammers are restored by one step every five seconds");
+
+        //The watchdog would flip between two levels on every evaluation otherwise
+        recoverMspt = Math.min(recoverMspt, degradeMspt - 1);
+
+        //Write missing defaults back to the file
+        if (config.hasChanged())
+            config.save();
+    }
+
+    /**
+     * Returns the names of every {@link HammerShape}.
+     */
+    private static String[] shapeNames() {
+        HammerShape[] shapes = HammerShape.values();
+        String[] names = new String[shapes.length];
+        for (int i = 0; i < shapes.length; i++) {
+            names[i] = shapes[i].name();
+        }
+        return names;
+    }
+
+}
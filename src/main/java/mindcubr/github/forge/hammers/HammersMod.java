@@ -1,19 +1,37 @@
 package mindcubr.github.forge.hammers;
 
+import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.Mod;
+import cpw.mods.fml.common.SidedProxy;
 import cpw.mods.fml.common.event.FMLInitializationEvent;
+import cpw.mods.fml.common.event.FMLModIdMappingEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import cpw.mods.fml.common.event.FMLServerStoppingEvent;
 import cpw.mods.fml.common.registry.GameRegistry;
+import mindcubr.github.forge.hammers.area.AreaHardness;
+import mindcubr.github.forge.hammers.area.BreakabilityTable;
+import mindcubr.github.forge.hammers.area.DropCache;
+import mindcubr.github.forge.hammers.area.HammerScheduler;
+import mindcubr.github.forge.hammers.area.HammerWatchdog;
+import mindcubr.github.forge.hammers.area.SwingPlanner;
+import mindcubr.github.forge.hammers.command.CommandHammerRollback;
 import mindcubr.github.forge.hammers.item.ItemHammerLevel;
 import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import mindcubr.github.forge.hammers.journal.BreakJournal;
+import mindcubr.github.forge.hammers.network.HammersNetwork;
+import mindcubr.github.forge.hammers.proxy.CommonProxy;
 import mindcubr.github.forge.hammers.register.HammerBlocks;
 import mindcubr.github.forge.hammers.register.HammerItems;
 import mindcubr.github.forge.hammers.unbreaking.generation.UnbreakingGenerator;
 import net.minecraft.creativetab.CreativeTabs;
 import net.minecraft.item.Item;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.MinecraftForge;
 import org.apache.commons.lang3.Validate;
 
 import javax.annotation.Nonnull;
+import java.io.File;
 import java.util.List;
 
 /**
@@ -38,6 +56,15 @@ public class HammersMod {
         }
     };
 
+    /**
+     * The sided proxy, so client-only code is only loaded by the client.
+     *
+     * @since 4.0.0-alpha
+     */
+    @SidedProxy(clientSide = "mindcubr.github.forge.hammers.proxy.ClientProxy",
+            serverSide = "mindcubr.github.forge.hammers.proxy.CommonProxy")
+    public static CommonProxy proxy;
+
     /**
      * This tool materials are actually the <em>base tool materials</em>
      * used for the hammers and rest of tool-based items, whose will
@@ -73,6 +100,7 @@ public class HammersMod {
      */
     @Mod.EventHandler
     public void preInit(@Nonnull FMLPreInitializationEvent event) {
+        HammersConfig.load(event.getSuggestedConfigurationFile());
         HammerItems.SINGLETON.load();
         registerLevels();   //Level registration first
         registerHammers();  //Tool registration second
@@ -81,6 +109,18 @@ public class HammersMod {
         //Generator registration last
         GameRegistry.registerWorldGenerator(UnbreakingGenerator.SINGLETON, 50);
         UnbreakingHandler.register();
+
+        //Planner and scheduler of the hammer swings
+        FMLCommonHandler.instance().bus().register(HammerScheduler.SINGLETON);
+        MinecraftForge.EVENT_BUS.register(HammerScheduler.SINGLETON);
+        FMLCommonHandler.instance().bus().register(SwingPlanner.SINGLETON);
+        FMLCommonHandler.instance().bus().register(HammerWatchdog.SINGLETON);
+        MinecraftForge.EVENT_BUS.register(AreaHardness.SINGLETON);
+        FMLCommonHandler.instance().bus().register(BreakJournal.SINGLETON);
+
+        //Network channel and sided proxy
+        HammersNetwork.register();
+        proxy.preInit();
     }
 
     /**
@@ -107,6 +147,48 @@ public class HammersMod {
         //Load all blocks
         HammerBlocks.SINGLETON.stream().forEach(HammerElement::load);
 
+        //Every registration is done, reject any later one
+        HammerItems.SINGLETON.freeze();
+        HammerBlocks.SINGLETON.freeze();
+    }
+
+    /**
+     * This method is invoked, when the <b>Forge Mod Loader</b> starts a server,
+     * so the break journal of the world is opened and the commands are registered.
+     *
+     * @param event the event input passed from the FML.
+     * @since 4.0.0-alpha
+     */
+    @Mod.EventHandler
+    public void serverStarting(@Nonnull FMLServerStartingEvent event) {
+        BreakJournal.SINGLETON.open(new File(DimensionManager.getCurrentSaveRootDirectory(),
+                Reference.MOD_ID + "/journal.dat"));
+        event.registerServerCommand(new CommandHammerRollback());
+    }
+
+    /**
+     * This method is invoked, when the <b>Forge Mod Loader</b> stops a server,
+     * so the break journal is flushed and closed.
+     *
+     * @param event the event input passed from the FML.
+     * @since 4.0.0-alpha
+     */
+    @Mod.EventHandler
+    public void serverStopping(@Nonnull FMLServerStoppingEvent event) {
+        BreakJournal.SINGLETON.close();
+    }
+
+    /**
+     * This method is invoked, when the <b>Forge Mod Loader</b> remaps the
+     * block and item ids, e.g. when joining a world.
+     *
+     * @param event the event input passed from the FML.
+     * @since 4.0.0-alpha
+     */
+    @Mod.EventHandler
+    public void remap(@Nonnull FMLModIdMappingEvent event) {
+        BreakabilityTable.invalidateAll();
+        DropCache.SINGLETON.invalidateAll();
     }
 
     /**
@@ -0,0 +1,187 @@
+package mindcubr.github.forge.hammers.area;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.area.shape.CompiledShape;
+import mindcubr.github.forge.hammers.area.shape.HammerShape;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import net.minecraft.block.Block;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.world.BlockEvent;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The <b>Area Hardness</b> slows the dig speed of a hammer down to the
+ * hardest block, that the hammer swing is going to break.
+ * <p>The dig speed is requested every tick while mining, so the area is not
+ * scanned every time. The hardness factor is cached per player, keyed by the world,
+ * the breaking center, the hit side, the tool and the shape. The cache is invalidated
+ * by a block broken or placed within the area, and expires after
+ * {@link #LIFETIME} ticks, so block changes without any event are caught as well.
+ * <p>The area hardness has to be registered to the Forge event bus.
+ *
+ * @author mindcubr
+ * @see HammersConfig#areaDigSpeed
+ * @since 4.0.0-alpha
+ */
+public class AreaHardness {
+
+    /**
+     * The main instance of this area hardness.
+     */
+    public static final AreaHardness SINGLETON = new AreaHardness();
+
+    /**
+     * The amount of ticks a cached factor is valid.
+     */
+    private static final int LIFETIME = 20;
+
+    /**
+     * The cached factor of every mining player, of both sides.
+     */
+    private final Map<EntityPlayer, Entry> entries = new WeakHashMap<>();
+
+    protected AreaHardness() {
+        ;
+    }
+
+    /**
+     * Multiplies the dig speed of a hammer with the factor of the center
+     * hardness to the hardest hardness within the area.
+     */
+    @SubscribeEvent
+    public void onBreakSpeed(PlayerEvent.BreakSpeed event) {
+        if (!HammersConfig.areaDigSpeed)
+            return;
+
+        EntityPlayer player = event.entityPlayer;
+        ItemStack stack = player.getCurrentEquippedItem();
+        if (stack == null || !(stack.getItem() instanceof ItemHammerTool))
+            return;
+
+        ItemHammerTool tool = (ItemHammerTool) stack.getItem();
+        World world = player.worldObj;
+        HammerShape shape = tool.getShape(stack);
+        int face = shape.isOriented() ? tool.getHitFace(world, player, event.x, event.y, event.z) : 0;
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(player);
+        }
+        long time = world.getTotalWorldTime();
+        if (entry == null || !entry.matches(world, event.x, event.y, event.z, face, tool, shape, time)) {
+            entry = new Entry(world, event.x, event.y, event.z, face, tool, shape, time);
+            synchronized (entries) {
+                entries.put(player, entry);
+            }
+        }
+        event.newSpeed *= entry.factor;
+    }
+
+    /**
+     * Invalidates every cached factor, whose area contains the broken block.
+     */
+    @SubscribeEvent
+    public void onBlockBreak(BlockEvent.BreakEvent event) {
+        invalidate(event.world, event.x, event.y, event.z);
+    }
+
+    /**
+     * Invalidates every cached factor, whose area contains the placed block.
+     */
+    @SubscribeEvent
+    public void onBlockPlace(BlockEvent.PlaceEvent event) {
+        invalidate(event.world, event.x, event.y, event.z);
+    }
+
+    private void invalidate(World world, int x, int y, int z) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.contains(world, x, y, z));
+        }
+    }
+
+    /**
+     * The cached hardness factor of a single area.
+     */
+    private static class Entry {
+
+        final World world;
+
+        final int x, y, z, face;
+
+        final ItemHammerTool tool;
+
+        final HammerShape shape;
+
+        final CompiledShape compiled;
+
+        final long expiresAt;
+
+        /**
+         * The factor the dig speed is multiplied with, at most one.
+         */
+        final float factor;
+
+        Entry(World world, int x, int y, int z, int face, ItemHammerTool tool, HammerShape shape, long time) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.face = face;
+            this.tool = tool;
+            this.shape = shape;
+            this.compiled = tool.getShapes().get(shape, face);
+            this.expiresAt = time + LIFETIME;
+            this.factor = computeFactor();
+        }
+
+        /**
+         * Scans the area once and returns the factor of the center hardness
+         * to the hardest breakable block within it.
+         */
+        private float computeFactor() {
+            float center = world.getBlock(x, y, z).getBlockHardness(world, x, y, z);
+            if (center <= 0)
+                return 1;
+
+            RegionSnapshot region = RegionSnapshot.capture(world,
+                    x + compiled.getMinX(), y + compiled.getMinY(), z + compiled.getMinZ(),
+                    x + compiled.getMaxX(), y + compiled.getMaxY(), z + compiled.getMaxZ());
+            float hardest = center;
+            for (int n = compiled.size(), i = 0; i < n; i++) {
+                int offset = compiled.get(i);
+                int cx = x + CompiledShape.offsetX(offset);
+                int cy = y + CompiledShape.offsetY(offset);
+                int cz = z + CompiledShape.offsetZ(offset);
+                if (!region.isOccupied(cx, cy, cz))
+                    continue;
+
+                int blockId = region.getBlockId(cx, cy, cz);
+                if (!tool.isBreakable(world, cx, cy, cz, blockId, region.getMetadata(cx, cy, cz)))
+                    continue;
+                hardest = Math.max(hardest, Block.getBlockById(blockId).getBlockHardness(world, cx, cy, cz));
+            }
+            return center / hardest;
+        }
+
+        boolean matches(World world, int x, int y, int z, int face,
+                        ItemHammerTool tool, HammerShape shape, long time) {
+            return this.world == world && this.x == x && this.y == y && this.z == z && this.face == face
+                    && this.tool == tool && this.shape == shape && time < expiresAt;
+        }
+
+        boolean contains(World world, int x, int y, int z) {
+            return this.world == world
+                    && x >= this.x + compiled.getMinX() && x <= this.x + compiled.getMaxX()
+                    && y >= this.y + compiled.getMinY() && y <= this.y + compiled.getMaxY()
+                    && z >= this.z + compiled.getMinZ() && z <= this.z + compiled.getMaxZ();
+        }
+
+    }
+
+}
@@ -0,0 +1,313 @@
+package mindcubr.github.forge.hammers.area;
+
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The <b>Breakability Table</b> caches whether a block state is breakable
+ * by a particular {@link ItemHammerTool}, indexed by the block id and metadata.
+ * <p>Every state is resolved lazily through {@link ItemHammerTool#isBreakableUncached},
+ * so the breakability of an already known state costs a single bit test.
+ * Blocks whose hardness depends on their position are never cached and always
+ * take the slow path.
+ * <p>Every table is invalidated by {@link #invalidateAll()}, whenever the block ids
+ * are registered or remapped.
+ * <p>A table is resolved and written by a single thread only, so every tool has a
+ * table of the server thread and a table of the client thread, as of
+ * {@link ItemHammerTool#getBreakability(World)}. Other threads, e.g. the planner
+ * workers, only read a table through {@link #lookup(int, int)}.
+ *
+ * @author mindcubr
+ * @see ItemHammerTool#isBreakable(World, int, int, int, int, int)
+ * @since 4.0.0-alpha
+ */
+public class BreakabilityTable {
+
+    private static final Logger LOGGER = LogManager.getLogger(Reference.MOD_ID);
+
+    /**
+     * The breakability of a state, that is not resolved yet.
+     */
+    public static final int UNKNOWN = 0;
+
+    /**
+     * The breakability of a state, that is resolved as not breakable.
+     */
+    public static final int UNBREAKABLE = 1;
+
+    /**
+     * The breakability of a state, that is resolved as breakable.
+     */
+    public static final int BREAKABLE = 3;
+
+    /**
+     * The amount of block ids possible.
+     */
+    private static final int BLOCK_IDS = 4096;
+
+    /**
+     * The amount of states possible, so every block id with every metadata.
+     */
+    private static final int STATES = BLOCK_IDS << 4;
+
+    /**
+     * The names of {@link Block#getBlockHardness(World, int, int, int)},
+     * deobfuscated and obfuscated.
+     */
+    private static final String[] HARDNESS_METHODS = {"getBlockHardness", "func_149712_f"};
+
+    /**
+     * The current generation of the block ids, increased on every invalidation.
+     */
+    private static volatile int generation;
+
+    /**
+     * The states configured to be always or never breakable, resolved lazily
+     * and published at once, null if not resolved yet.
+     */
+    private static volatile Filter filter;
+
+    /**
+     * Whether a block class is overriding the position dependent hardness.
+     */
+    private static final Map<Class<?>, Boolean> dynamicClasses = new IdentityHashMap<>();
+
+    /**
+     * The tool the breakability is cached for.
+     */
+    private final ItemHammerTool tool;
+
+    /**
+     * The resolved breakability of every state, two bits per state, as of
+     * {@link #UNKNOWN}, {@link #UNBREAKABLE} and {@link #BREAKABLE}.
+     * <p>Both bits of a state are always within the same half of a <code>long</code>,
+     * so a concurrent reader never sees them torn apart.
+     */
+    private final long[] resolved = new long[STATES >> 5];
+
+    /**
+     * The states whose hardness depends on their position.
+     */
+    private final long[] dynamic = new long[STATES >> 6];
+
+    /**
+     * The generation this table was resolved within.
+     */
+    private volatile int resolvedFor = -1;
+
+    public BreakabilityTable(@Nonnull ItemHammerTool tool) {
+        this.tool = Validate.notNull(tool);
+    }
+
+    /**
+     * Returns whether the block state at {@code x}, {@code y} and {@code z} is
+     * breakable by the tool of this table.
+     *
+     * @param world    the world, where the target block is located in
+     * @param x        the tridi-x of the block
+     * @param y        the tridi-y of the block
+     * @param z        the tridi-z of the block
+     * @param blockId  the id of the block, as of {@link Block#getIdFromBlock(Block)}
+     * @param metadata the metadata of the block
+     * @return <em>True</em> if the block is breakable
+     */
+    public boolean isBreakable(World world, int x, int y, int z, int blockId, int metadata) {
+        //Air is never breakable, out of range ids are never cached
+        if (blockId == 0)
+            return false;
+        if (blockId < 0 || blockId >= BLOCK_IDS)
+            return tool.isBreakableUncached(world, x, y, z, Block.getBlockById(blockId), metadata);
+
+        if (resolvedFor != generation)
+            reset();
+
+        final int state = blockId << 4 | (metadata & 15);
+        int known = get(resolved, state);
+        if (known != UNKNOWN)
+            return known == BREAKABLE;
+
+        //Position dependent hardness always takes the slow path
+        Block block = Block.getBlockById(blockId);
+        boolean result = tool.isBreakableUncached(world, x, y, z, block, metadata);
+        if (test(dynamic, state))
+            return result;
+        if (isDynamic(block)) {
+            set(dynamic, state);
+            return result;
+        }
+
+        put(resolved, state, result ? BREAKABLE : UNBREAKABLE);
+        return result;
+    }
+
+    /**
+     * Returns the already resolved breakability of the block state, without resolving it.
+     * <p>This is safe to be invoked by any thread, as it neither reads the world nor
+     * writes this table. States, that are not resolved yet, or whose hardness
+     * depends on their position, are {@link #UNKNOWN}.
+     *
+     * @param blockId  the id of the block, as of {@link Block#getIdFromBlock(Block)}
+     * @param metadata the metadata of the block
+     * @return either {@link #UNKNOWN}, {@link #UNBREAKABLE} or {@link #BREAKABLE}
+     */
+    public int lookup(int blockId, int metadata) {
+        if (blockId == 0)
+            return UNBREAKABLE;
+        if (blockId < 0 || blockId >= BLOCK_IDS || resolvedFor != generation)
+            return UNKNOWN;
+        return get(resolved, blockId << 4 | (metadata & 15));
+    }
+
+    /**
+     * Returns whether the block state is configured to be never breakable.
+     *
+     * @param blockId  the id of the block
+     * @param metadata the metadata of the block
+     * @return <em>True</em> if the state is listed in {@link HammersConfig#breakableExclude}
+     */
+    public static boolean isExcluded(int blockId, int metadata) {
+        return blockId >= 0 && blockId < BLOCK_IDS && test(filter().excluded, blockId << 4 | (metadata & 15));
+    }
+
+    /**
+     * Returns whether the block state is configured to be breakable,
+     * even if it is not a normal cube.
+     *
+     * @param blockId  the id of the block
+     * @param metadata the metadata of the block
+     * @return <em>True</em> if the state is listed in {@link HammersConfig#breakableInclude}
+     */
+    public static boolean isIncluded(int blockId, int metadata) {
+        return blockId >= 0 && blockId < BLOCK_IDS && test(filter().included, blockId << 4 | (metadata & 15));
+    }
+
+    /**
+     * Invalidates every table, so every state is resolved again.
+     * <p>This has to be invoked, whenever the block ids change.
+     */
+    public static synchronized void invalidateAll() {
+        ++generation;
+        filter = null;
+    }
+
+    /**
+     * Clears the resolved states of this table.
+     */
+    private void reset() {
+        Arrays.fill(resolved, 0L);
+        Arrays.fill(dynamic, 0L);
+        resolvedFor = generation;
+    }
+
+    /**
+     * Returns whether the class of the {@code block} overrides the
+     * position dependent hardness.
+     */
+    private static synchronized boolean isDynamic(Block block) {
+        return dynamicClasses.computeIfAbsent(block.getClass(), type -> {
+            for (Class<?> cls = type; cls != Block.class && cls != null; cls = cls.getSuperclass()) {
+                for (Method method : cls.getDeclaredMethods()) {
+                    if (method.getParameterCount() == 4
+                            && method.getParameterTypes()[0] == World.class
+                            && ArrayUtils.contains(HARDNESS_METHODS, method.getName()))
+                        return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Returns the configured include and exclude lists, resolving them if not resolved yet.
+     * <p>The returned filter is never modified, so it is safe to be read while invalidated.
+     */
+    private static Filter filter() {
+        Filter current = filter;
+        return current != null ? current : resolveFilter();
+    }
+
+    private static synchronized Filter resolveFilter() {
+        if (filter == null)
+            filter = new Filter(resolveStates(HammersConfig.breakableInclude),
+                    resolveStates(HammersConfig.breakableExclude));
+        return filter;
+    }
+
+    /**
+     * Resolves the configured {@code entries} into a set of states.
+     * <p>Every entry is either <code>modid:name</code> for every metadata, or
+     * <code>modid:name@metadata</code> for a single metadata.
+     */
+    private static long[] resolveStates(String[] entries) {
+        long[] states = new long[STATES >> 6];
+        for (String entry : entries) {
+            String name = StringUtils.substringBefore(entry, "@").trim();
+            String meta = StringUtils.substringAfter(entry, "@").trim();
+            Block block = Block.getBlockFromName(name);
+            if (block == null || block == Blocks.air) {
+                LOGGER.warn("Unknown block in hammer breakability list: {}", entry);
+                continue;
+            }
+
+            int id = Block.getIdFromBlock(block);
+            if (meta.isEmpty()) {
+                for (int m = 0; m < 16; m++) {
+                    set(states, id << 4 | m);
+                }
+            } else if (StringUtils.isNumeric(meta)) {
+                set(states, id << 4 | (Integer.parseInt(meta) & 15));
+            } else {
+                LOGGER.warn("Invalid metadata in hammer breakability list: {}", entry);
+            }
+        }
+        return states;
+    }
+
+    private static boolean test(long[] bits, int index) {
+        return (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >> 6] |= 1L << index;
+    }
+
+    private static int get(long[] pairs, int index) {
+        return (int) (pairs[index >> 5] >>> ((index & 31) << 1)) & 3;
+    }
+
+    private static void put(long[] pairs, int index, int value) {
+        pairs[index >> 5] |= (long) value << ((index & 31) << 1);
+    }
+
+    /**
+     * The resolved states configured to be always or never breakable.
+     */
+    private static class Filter {
+
+        final long[] included;
+
+        final long[] excluded;
+
+        Filter(long[] included, long[] excluded) {
+            this.included = included;
+            this.excluded = excluded;
+        }
+
+    }
+
+}
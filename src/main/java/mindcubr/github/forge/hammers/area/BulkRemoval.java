@@ -0,0 +1,272 @@
+package mindcubr.github.forge.hammers.area;
+
+import cpw.mods.fml.common.network.NetworkRegistry;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.network.HammersNetwork;
+import mindcubr.github.forge.hammers.network.MessageSwingEffect;
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The <b>Bulk Removal</b> clears the cells of a {@link HammerSwing} directly
+ * within the chunk sections, instead of setting every single cell to air
+ * through the world.
+ * <p>Setting a cell through the world notifies all six neighbors of that cell,
+ * even though most of them are removed right afterwards. The bulk removal
+ * collects every removed cell and {@link #flush() notifies} only the cells on the
+ * outer shell of the removed volume, each of them once.
+ * <p>The lighting is not updated per removed cell either. Once the removal is
+ * {@link #relight() relit} after its last flush, the sky light of every affected chunk
+ * is regenerated once, and the light is recalculated only from the topmost and
+ * bottommost removed cell of every column, either at once or spread over the
+ * following ticks, if {@link HammersConfig#deferredLighting} is enabled.
+ * <p>The block changes are synchronized through the chunk watchers, which batch
+ * them into a single multi block change per chunk and tick. The break effects of
+ * every flush are sent as a single {@link MessageSwingEffect} to the nearby players,
+ * which expand it locally.
+ * <p>Cells with a tile entity are still removed through the world, so the
+ * tile entity is handled as usual, only their break effects are batched as well.
+ *
+ * @author mindcubr
+ * @see HammersConfig#bulkRemoval
+ * @since 4.0.0-alpha
+ */
+public class BulkRemoval {
+
+    /**
+     * The offsets of the six neighbors of a cell.
+     */
+    private static final int[] NEIGHBOR_X = {0, 0, 0, 0, -1, 1};
+    private static final int[] NEIGHBOR_Y = {-1, 1, 0, 0, 0, 0};
+    private static final int[] NEIGHBOR_Z = {0, 0, -1, 1, 0, 0};
+
+    /**
+     * The range in which players receive the break effects, equal to vanilla effects.
+     */
+    private static final double EFFECT_RANGE = 64;
+
+    /**
+     * The world the cells are removed from.
+     */
+    private final World world;
+
+    /**
+     * The removed cells, that are not flushed yet.
+     */
+    private final PackedPositionSet removed = new PackedPositionSet();
+
+    /**
+     * The neighbors already notified within the current flush.
+     */
+    private final PackedPositionSet notified = new PackedPositionSet();
+
+    /**
+     * The {@link PackedPositions packed} removed cells, their former blocks and their
+     * former states for the break effects, in removal order.
+     */
+    private long[] cells = new long[64];
+    private Block[] blocks = new Block[64];
+    private int[] states = new int[64];
+    private int length;
+
+    /**
+     * The {@link PackedPositions packed} cells removed within the chunk sections,
+     * that are not relit yet.
+     */
+    private long[] unlit = new long[64];
+    private int unlitLength;
+
+    /**
+     * The chunks containing removed cells, that are not relit yet.
+     */
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    public BulkRemoval(@Nonnull World world) {
+        this.world = Validate.notNull(world);
+    }
+
+    /**
+     * Removes the {@code block} at {@code x}, {@code y} and {@code z}.
+     * <p>The neighbors of the cell are not notified, until this removal is {@link #flush() flushed}.
+     *
+     * @param x        the tridi-x of the cell
+     * @param y        the tridi-y of the cell
+     * @param z        the tridi-z of the cell
+     * @param block    the block currently located at the cell
+     * @param metadata the metadata of the block
+     * @return <em>True</em> if the cell was removed
+     */
+    public boolean remove(int x, int y, int z, @Nonnull Block block, int metadata) {
+        return remove(x, y, z, block, metadata, true);
+    }
+
+    /**
+     * Removes the {@code block} at {@code x}, {@code y} and {@code z}.
+     * <p>The neighbors of the cell are not notified, until this removal is {@link #flush() flushed}.
+     * If {@code breakBlock} is false, the {@link Block#breakBlock} of a block without tile entity
+     * is not invoked while bulk removing, as the caller handles its effects in bulk, e.g. the
+     * leaf decay of logs.
+     *
+     * @param x          the tridi-x of the cell
+     * @param y          the tridi-y of the cell
+     * @param z          the tridi-z of the cell
+     * @param block      the block currently located at the cell
+     * @param metadata   the metadata of the block
+     * @param breakBlock whether the {@link Block#breakBlock} of the block is invoked
+     * @return <em>True</em> if the cell was removed
+     */
+    public boolean remove(int x, int y, int z, @Nonnull Block block, int metadata, boolean breakBlock) {
+        //Tile entities and the disabled bulk removal take the usual path, only the effect is batched
+        if (!HammersConfig.bulkRemoval || block.hasTileEntity(metadata)) {
+            if (!world.setBlockToAir(x, y, z))
+                return false;
+            record(PackedPositions.pack(x, y, z), block, metadata);
+            return true;
+        }
+        if (y < 0 || y >= world.getHeight())
+            return false;
+
+        Chunk chunk = world.getChunkFromBlockCoords(x, z);
+        ExtendedBlockStorage storage = chunk.getBlockStorageArray()[y >> 4];
+        if (storage == null)
+            return false;
+
+        //Clear the cell within the section, as the chunk would do it
+        block.onBlockPreDestroy(world, x, y, z, metadata);
+        storage.func_150818_a(x & 15, y & 15, z & 15, Blocks.air);
+        storage.setExtBlockMetadata(x & 15, y & 15, z & 15, 0);
+        if (breakBlock)
+            block.breakBlock(world, x, y, z, block, metadata);
+        chunk.setChunkModified();
+
+        //Synchronization, the block change packets are batched per chunk
+        world.markBlockForUpdate(x, y, z);
+
+        long packed = PackedPositions.pack(x, y, z);
+        removed.add(packed);
+        record(packed, block, metadata);
+        if (unlitLength == unlit.length)
+            unlit = Arrays.copyOf(unlit, unlitLength << 1);
+        unlit[unlitLength++] = packed;
+        if (!chunks.contains(chunk))
+            chunks.add(chunk);
+        return true;
+    }
+
+    /**
+     * Records the {@code packed} cell with its former block for the flush.
+     */
+    private void record(long packed, Block block, int metadata) {
+        if (length == cells.length) {
+            cells = Arrays.copyOf(cells, length << 1);
+            blocks = Arrays.copyOf(blocks, length << 1);
+            states = Arrays.copyOf(states, length << 1);
+        }
+        cells[length] = packed;
+        states[length] = Block.getIdFromBlock(block) + (metadata << 12);
+        blocks[length++] = block;
+    }
+
+    /**
+     * Notifies every neighbor on the outer shell of the removed volume once
+     * and sends the break effects of the removed cells.
+     * <p>The lighting is not updated, until this removal is {@link #relight() relit}.
+     */
+    public void flush() {
+        if (length == 0)
+            return;
+
+        //Notify every loaded neighbor outside of the removed cells once, the world did it for the others
+        for (int i = 0; i < length; i++) {
+            long cell = cells[i];
+            if (!removed.contains(cell))
+                continue;
+
+            Block block = blocks[i];
+            int x = PackedPositions.unpackX(cell);
+            int y = PackedPositions.unpackY(cell);
+            int z = PackedPositions.unpackZ(cell);
+            for (int side = 0; side < 6; side++) {
+                int nx = x + NEIGHBOR_X[side];
+                int ny = y + NEIGHBOR_Y[side];
+                int nz = z + NEIGHBOR_Z[side];
+                long neighbor = PackedPositions.pack(nx, ny, nz);
+                if (!removed.contains(neighbor) && notified.add(neighbor) && world.blockExists(nx, ny, nz))
+                    world.notifyBlockOfNeighborChange(nx, ny, nz, block);
+            }
+            if (block.hasComparatorInputOverride())
+                world.func_147453_f(x, y, z, block);
+        }
+
+        //One effect message for every removed cell, which confirms the cells predicted by the clients
+        long origin = cells[0];
+        HammersNetwork.CHANNEL.sendToAllAround(new MessageSwingEffect(cells, states, length),
+                new NetworkRegistry.TargetPoint(world.provider.dimensionId, PackedPositions.unpackX(origin),
+                        PackedPositions.unpackY(origin), PackedPositions.unpackZ(origin), EFFECT_RANGE));
+
+        removed.clear();
+        notified.clear();
+        Arrays.fill(blocks, 0, length, null);
+        length = 0;
+    }
+
+    /**
+     * Updates the height maps and the lighting of every cell removed within the
+     * chunk sections since the last relight, once per chunk and column.
+     * <p>This is invoked once after the last {@link #flush() flush}, e.g. when the
+     * swing finishes, so a swing processed over multiple ticks relights every chunk once.
+     */
+    public void relight() {
+        if (unlitLength == 0)
+            return;
+
+        //Height maps and vertical sky light once per chunk, skipped without sky
+        for (int n = chunks.size(), i = 0; i < n; i++) {
+            chunks.get(i).generateSkylightMap();
+        }
+
+        //Sorting groups the cells by column, ascending by y within each column
+        Arrays.sort(unlit, 0, unlitLength);
+        for (int i = 0; i < unlitLength; ) {
+            long column = column(unlit[i]);
+            int top = i;
+            while (top + 1 < unlitLength && column(unlit[top + 1]) == column) {
+                ++top;
+            }
+            seedLight(unlit[top]);
+            if (top != i)
+                seedLight(unlit[i]);
+            i = top + 1;
+        }
+        chunks.clear();
+        unlitLength = 0;
+    }
+
+    /**
+     * Returns the packed column of the {@code cell}.
+     */
+    private static long column(long cell) {
+        return PackedPositions.pack(PackedPositions.unpackX(cell), 0, PackedPositions.unpackZ(cell));
+    }
+
+    /**
+     * Recalculates the lighting from the {@code cell}.
+     */
+    private void seedLight(long cell) {
+        if (HammersConfig.deferredLighting)
+            HammerScheduler.SINGLETON.submitLight(world, cell);
+        else
+            world.func_147451_t(PackedPositions.unpackX(cell), PackedPositions.unpackY(cell),
+                    PackedPositions.unpackZ(cell));
+    }
+
+}
@@ -0,0 +1,14 @@
+package mindcubr.github.forge.hammers.area;
+
+/**
+ * Marks a {@link net.minecraft.block.Block}, whose drops only depend on its
+ * metadata and the fortune level, but never on a random, so its drops are
+ * cached by the {@link DropCache} even though it overrides the drop methods.
+ *
+ * @author mindcubr
+ * @see DropCache
+ * @since 4.0.0-alpha
+ */
+public interface DeterministicDrops {
+
+}
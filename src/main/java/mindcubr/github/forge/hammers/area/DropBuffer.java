@@ -0,0 +1,157 @@
+package mindcubr.github.forge.hammers.area;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.item.EntityXPOrb;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A <b>Drop Buffer</b> collects every drop and every experience point of
+ * a single {@link HammerSwing}, so identical stacks are merged and the
+ * experience is summed up, before any entity is spawned.
+ * <p>This way a swing spawns the minimum amount of {@link EntityItem item entities}
+ * and {@link EntityXPOrb experience orbs} possible, instead of one per broken block.
+ *
+ * @author mindcubr
+ * @see HammerSwing#getDrops()
+ * @since 4.0.0-alpha
+ */
+public class DropBuffer {
+
+    /**
+     * The merged stacks, none of them exceeding its maximum stack size.
+     */
+    private final List<ItemStack> stacks = new ArrayList<>();
+
+    /**
+     * The summed experience of the buffered drops.
+     */
+    private int experience;
+
+    /**
+     * Adds the {@code stack} to this buffer, by merging it into the
+     * already buffered stacks that are equal to it.
+     * <p>The input {@code stack} is not modified, a copy is buffered.
+     *
+     * @param stack the stack to be buffered
+     */
+    public void add(@Nonnull ItemStack stack) {
+        Validate.notNull(stack);
+        int amount = stack.stackSize;
+        for (int n = stacks.size(), i = 0; i < n && amount > 0; i++) {
+            ItemStack buffered = stacks.get(i);
+            if (!isMergeable(buffered, stack))
+                continue;
+
+            //Fill the buffered stack, until it is full
+            int moved = Math.min(amount, buffered.getMaxStackSize() - buffered.stackSize);
+            buffered.stackSize += moved;
+            amount -= moved;
+        }
+
+        //Append the remainder as new stacks
+        while (amount > 0) {
+            ItemStack copy = stack.copy();
+            copy.stackSize = Math.min(amount, copy.getMaxStackSize());
+            amount -= copy.stackSize;
+            stacks.add(copy);
+        }
+    }
+
+    /**
+     * Adds the {@code amount} of experience to this buffer.
+     *
+     * @param amount the experience to be added
+     */
+    public void addExperience(int amount) {
+        experience += Math.max(amount, 0);
+    }
+
+    /**
+     * Returns whether nothing is buffered.
+     *
+     * @return <em>True</em> if neither a stack nor experience is buffered
+     */
+    public boolean isEmpty() {
+        return stacks.isEmpty() && experience == 0;
+    }
+
+    /**
+     * Gives every buffered stack and the buffered experience to the {@code player}
+     * directly, without spawning any entity.
+     * <p>Stacks that do not fit into the inventory of the {@code player} stay
+     * buffered, so they can still be {@link #spawn(World, int, int, int) spawned}.
+     * The inventory is not synchronized with the client in here.
+     *
+     * @param player the player to receive the drops
+     */
+    public void give(@Nonnull EntityPlayer player) {
+        Validate.notNull(player);
+        if (isEmpty() || !player.worldObj.getGameRules().getGameRuleBooleanValue("doTileDrops"))
+            return;
+
+        //Put every stack into the inventory, the remainder stays buffered
+        for (Iterator<ItemStack> itr = stacks.iterator(); itr.hasNext(); ) {
+            ItemStack stack = itr.next();
+            player.inventory.addItemStackToInventory(stack);
+            if (stack.stackSize <= 0)
+                itr.remove();
+        }
+
+        if (experience > 0) {
+            player.addExperience(experience);
+            experience = 0;
+        }
+    }
+
+    /**
+     * Spawns every buffered stack and the buffered experience into the
+     * {@code world} at the given block and clears this buffer afterwards.
+     *
+     * @param world the world where to spawn the drops
+     * @param x     the tridi-x of the block to spawn the drops at
+     * @param y     the tridi-y of the block to spawn the drops at
+     * @param z     the tridi-z of the block to spawn the drops at
+     */
+    public void spawn(@Nonnull World world, int x, int y, int z) {
+        Validate.notNull(world);
+        if (world.getGameRules().getGameRuleBooleanValue("doTileDrops")) {
+            for (int n = stacks.size(), i = 0; i < n; i++) {
+                //Same spread as a block drop has
+                final float spread = 0.7F;
+                double offX = world.rand.nextFloat() * spread + (1.0F - spread) * 0.5D;
+                double offY = world.rand.nextFloat() * spread + (1.0F - spread) * 0.5D;
+                double offZ = world.rand.nextFloat() * spread + (1.0F - spread) * 0.5D;
+                EntityItem entity = new EntityItem(world, x + offX, y + offY, z + offZ, stacks.get(i));
+                entity.delayBeforeCanPickup = 10;
+                world.spawnEntityInWorld(entity);
+            }
+        }
+
+        //Split the experience into as few orbs as possible
+        while (experience > 0) {
+            int split = EntityXPOrb.getXPSplit(experience);
+            experience -= split;
+            world.spawnEntityInWorld(new EntityXPOrb(world, x + 0.5D, y + 0.5D, z + 0.5D, split));
+        }
+        stacks.clear();
+    }
+
+    /**
+     * Returns whether both stacks can be merged into a single one.
+     */
+    private static boolean isMergeable(ItemStack buffered, ItemStack stack) {
+        return buffered.getItem() == stack.getItem()
+                && buffered.getItemDamage() == stack.getItemDamage()
+                && buffered.stackSize < buffered.getMaxStackSize()
+                && ItemStack.areItemStackTagsEqual(buffered, stack);
+    }
+
+}
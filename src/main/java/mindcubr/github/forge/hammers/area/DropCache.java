@@ -0,0 +1,265 @@
+package mindcubr.github.forge.hammers.area;
+
+import com.google.common.base.Throwables;
+import cpw.mods.fml.relauncher.ReflectionHelper;
+import mindcubr.github.forge.hammers.HammersConfig;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockGrass;
+import net.minecraft.block.BlockMycelium;
+import net.minecraft.block.BlockObsidian;
+import net.minecraft.block.BlockStone;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.event.ForgeEventFactory;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <b>Drop Cache</b> memoizes the drops of deterministic blocks, keyed by
+ * the block, the metadata, the fortune level and silk touch.
+ * <p>The cached drops are prototype stacks, that are never handed out to be kept.
+ * They are passed to the harvest listeners through a reused list and copied
+ * by the {@link DropBuffer} only when they are merged or appended.
+ * <p>A block is uncacheable, if it has a tile entity or if its class, or any superclass
+ * below {@link Block}, overrides one of the {@link #DROP_METHODS}, as its drops are then
+ * possibly randomized. Blocks marked as {@link DeterministicDrops} and the vanilla
+ * {@link #DETERMINISTIC_CLASSES} are cached nonetheless, e.g. stone dropping cobblestone.
+ * The silk touch drops are always cached, as they only depend on the metadata. If a harvest listener changes the cached drops, the key is marked as uncacheable as well.
+ * <p>The cache is only accessed by the main thread.
+ *
+ * @author mindcubr
+ * @see HammersConfig#dropCache
+ * @since 4.0.0-alpha
+ */
+public class DropCache {
+
+    /**
+     * The main instance of this cache.
+     */
+    public static final DropCache SINGLETON = new DropCache();
+
+    /**
+     * The names of the methods computing the drops out of a random, that make the
+     * drops of a block uncacheable if overridden, deobfuscated and obfuscated.
+     */
+    private static final String[] DROP_METHODS = {"getDrops", "quantityDropped", "func_149745_a",
+            "quantityDroppedWithBonus", "func_149679_a", "getItemDropped", "func_149650_a"};
+
+    /**
+     * The highest fortune level cached, higher levels are always computed.
+     */
+    private static final int MAX_FORTUNE = 7;
+
+    /**
+     * The vanilla block classes overriding the {@link #DROP_METHODS}, whose
+     * drops are deterministic nonetheless. Subclasses are not included.
+     */
+    private static final Class<?>[] DETERMINISTIC_CLASSES = {BlockStone.class, BlockObsidian.class,
+            BlockGrass.class, BlockMycelium.class};
+
+    /**
+     * The protected {@code createStackedBlock} of {@link Block}, deobfuscated or obfuscated.
+     */
+    private static final Method CREATE_STACKED_BLOCK = ReflectionHelper.findMethod(Block.class, null,
+            new String[]{"createStackedBlock", "func_149644_j"}, int.class);
+
+    /**
+     * The marker of uncacheable keys.
+     */
+    private static final ItemStack[] UNCACHEABLE = new ItemStack[0];
+
+    /**
+     * The cached prototypes of every block state, each holding
+     * the variants of every fortune level and silk touch.
+     */
+    private final ItemStack[][][] entries = new ItemStack[1 << 16][][];
+
+    /**
+     * Whether a block class is overriding any of the {@link #DROP_METHODS}.
+     */
+    private final Map<Class<?>, Boolean> randomizedClasses = new IdentityHashMap<>();
+
+    /**
+     * The reused list passed to the harvest listeners.
+     */
+    private final ArrayList<ItemStack> shared = new ArrayList<>();
+
+    /**
+     * The stack sizes of the prototypes passed within the {@link #shared} list.
+     */
+    private int[] sizes = new int[8];
+
+    protected DropCache() {
+        ;
+    }
+
+    /**
+     * Collects the drops of the {@code block} into the {@code drops}, as
+     * {@link net.minecraft.block.Block#harvestBlock} of a player would.
+     * <p>This has to be invoked by the main thread, after the block was removed, as vanilla harvests.
+     *
+     * @param drops    the buffer to add the drops to
+     * @param world    the world the block is located in
+     * @param player   the player harvesting the block
+     * @param block    the harvested block
+     * @param x        the tridi-x of the block
+     * @param y        the tridi-y of the block
+     * @param z        the tridi-z of the block
+     * @param metadata the metadata of the block
+     * @param fortune  the fortune level of the harvest
+     * @param silk     whether the block is harvested with silk touch
+     */
+    public void collect(@Nonnull DropBuffer drops, @Nonnull World world, @Nonnull EntityPlayer player,
+                        @Nonnull Block block, int x, int y, int z, int metadata, int fortune, boolean silk) {
+        Validate.notNull(drops);
+        ItemStack[] prototypes = lookup(world, block, x, y, z, metadata, fortune, silk);
+        ArrayList<ItemStack> items;
+        if (prototypes == null) {
+            items = compute(world, block, x, y, z, metadata, fortune, silk);
+        } else {
+            items = shared;
+            if (sizes.length < prototypes.length)
+                sizes = new int[prototypes.length];
+            for (int i = 0; i < prototypes.length; i++) {
+                items.add(prototypes[i]);
+                sizes[i] = prototypes[i].stackSize;
+            }
+        }
+
+        float chance = ForgeEventFactory.fireBlockHarvesting(items, world, block,
+                x, y, z, metadata, fortune, 1.0F, silk, player);
+        if (prototypes != null && !isIntact(items, prototypes))
+            entries[Block.getIdFromBlock(block) << 4 | metadata][variant(fortune, silk)] = UNCACHEABLE;
+
+        //The buffer copies the stacks on demand
+        for (int n = items.size(), i = 0; i < n; i++) {
+            if (world.rand.nextFloat() <= chance)
+                drops.add(items.get(i));
+        }
+        if (items == shared)
+            shared.clear();
+    }
+
+    /**
+     * Returns the cached prototypes of the drops, computing them if absent.
+     *
+     * @return the prototypes or null, if the drops are uncacheable
+     */
+    private ItemStack[] lookup(World world, Block block, int x, int y, int z, int metadata, int fortune, boolean silk) {
+        if (!HammersConfig.dropCache || fortune > MAX_FORTUNE || block.hasTileEntity(metadata))
+            return null;
+
+        int state = Block.getIdFromBlock(block) << 4 | metadata;
+        ItemStack[][] variants = entries[state];
+        if (variants == null)
+            variants = entries[state] = new ItemStack[(MAX_FORTUNE + 1) << 1][];
+
+        int variant = variant(fortune, silk);
+        ItemStack[] prototypes = variants[variant];
+        if (prototypes == null) {
+            prototypes = variants[variant] = silk || !isRandomized(block)
+                    ? toPrototypes(compute(world, block, x, y, z, metadata, fortune, silk))
+                    : UNCACHEABLE;
+        }
+        return prototypes == UNCACHEABLE ? null : prototypes;
+    }
+
+    /**
+     * Returns whether the class of the {@code block} overrides any of the {@link #DROP_METHODS},
+     * unless its drops are known to be deterministic.
+     */
+    private boolean isRandomized(Block block) {
+        return randomizedClasses.computeIfAbsent(block.getClass(), type -> {
+            if (DeterministicDrops.class.isAssignableFrom(type) || ArrayUtils.contains(DETERMINISTIC_CLASSES, type))
+                return false;
+            for (Class<?> cls = type; cls != Block.class && cls != null; cls = cls.getSuperclass()) {
+                for (Method method : cls.getDeclaredMethods()) {
+                    if (ArrayUtils.contains(DROP_METHODS, method.getName()))
+                        return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Returns the computed {@code drops} as prototypes.
+     *
+     * @return the prototypes or {@link #UNCACHEABLE}, if any drop is undefined
+     */
+    private static ItemStack[] toPrototypes(ArrayList<ItemStack> drops) {
+        for (ItemStack stack : drops) {
+            if (stack == null)
+                return UNCACHEABLE;
+        }
+        return drops.toArray(new ItemStack[drops.size()]);
+    }
+
+    /**
+     * Computes the drops of the block, as a fresh mutable list.
+     */
+    private static ArrayList<ItemStack> compute(World world, Block block, int x, int y, int z,
+                                                int metadata, int fortune, boolean silk) {
+        return silk ? createSilkDrops(block, metadata) : block.getDrops(world, x, y, z, metadata, fortune);
+    }
+
+    /**
+     * Creates the drops of the {@code block} broken with silk touch, so the
+     * stack returned by the protected {@code createStackedBlock} of the block,
+     * including its overrides, e.g. of lit redstone ore, logs and leaves.
+     *
+     * @param block    the block to create the drops of
+     * @param metadata the metadata of the broken block
+     * @return the mutable list of drops, empty if the block has no item
+     */
+    private static ArrayList<ItemStack> createSilkDrops(Block block, int metadata) {
+        ArrayList<ItemStack> items = new ArrayList<>(1);
+        ItemStack stack;
+        try {
+            stack = (ItemStack) CREATE_STACKED_BLOCK.invoke(block, metadata);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Could not create stacked block of " + block, ex);
+        } catch (InvocationTargetException ex) {
+            throw Throwables.propagate(ex.getCause());
+        }
+        if (stack != null)
+            items.add(stack);
+        return items;
+    }
+
+    /**
+     * Returns whether the harvest listeners left the passed prototypes untouched.
+     * <p>Changes of the tag compounds are not detected.
+     */
+    private boolean isIntact(List<ItemStack> items, ItemStack[] prototypes) {
+        if (items.size() != prototypes.length)
+            return false;
+        for (int i = 0; i < prototypes.length; i++) {
+            if (items.get(i) != prototypes[i] || prototypes[i].stackSize != sizes[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static int variant(int fortune, boolean silk) {
+        return fortune << 1 | (silk ? 1 : 0);
+    }
+
+    /**
+     * Clears every cached drop, e.g. if the block ids are remapped.
+     */
+    public void invalidateAll() {
+        Arrays.fill(entries, null);
+    }
+
+}
@@ -0,0 +1,146 @@
+package mindcubr.github.forge.hammers.area;
+
+import lombok.Getter;
+import net.minecraft.world.World;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * A <b>Flood Fill</b> is a breadth first search over the connected cells
+ * accepted by a {@link Filter}, starting at an origin cell.
+ * <p>The search works on {@link PackedPositions packed} positions only, with a
+ * {@link PackedPositionQueue} as frontier and a {@link PackedPositionSet} of visited
+ * cells, so no position is boxed. A fill is reusable, so repeated searches of the
+ * same fill do not allocate, once the buffers grew to the searched size.
+ * <p>The search never loads a chunk and stops at the given limit of cells.
+ * A fill is not thread safe and only searches the world on the main thread.
+ *
+ * @author mindcubr
+ * @since 4.0.0-alpha
+ */
+public class FloodFill {
+
+    /**
+     * The filter deciding, which cells are part of a fill.
+     */
+    public interface Filter {
+
+        /**
+         * Returns whether the cell at the input coordinates is part of the fill.
+         *
+         * @param x the tridi-x of the cell
+         * @param y the tridi-y of the cell
+         * @param z the tridi-z of the cell
+         * @return <em>True</em> if the cell is accepted
+         */
+        boolean accept(int x, int y, int z);
+
+    }
+
+    /**
+     * Whether diagonal neighbors are connected, so every one of the 26
+     * neighbors instead of the six face neighbors.
+     */
+    @Getter
+    private final boolean diagonal;
+
+    /**
+     * The frontier of the current search.
+     */
+    private final PackedPositionQueue frontier = new PackedPositionQueue();
+
+    /**
+     * Every cell checked by the current search, accepted or not.
+     */
+    private final PackedPositionSet visited = new PackedPositionSet();
+
+    /**
+     * The {@link PackedPositions packed} accepted cells, in search order.
+     */
+    private long[] found = new long[16];
+
+    /**
+     * The amount of accepted cells of the current search.
+     */
+    @Getter
+    private int length;
+
+    public FloodFill(boolean diagonal) {
+        this.diagonal = diagonal;
+    }
+
+    /**
+     * Searches every cell connected to the origin and accepted by the {@code filter},
+     * until {@code limit} cells are found. The origin itself is always the first
+     * cell found, without being checked by the {@code filter}.
+     *
+     * @param world  the world to search in
+     * @param x      the tridi-x of the origin
+     * @param y      the tridi-y of the origin
+     * @param z      the tridi-z of the origin
+     * @param limit  the maximum amount of cells to find
+     * @param filter the filter of the connected cells
+     * @return the amount of cells found, at most {@code limit}
+     */
+    public int fill(@Nonnull World world, int x, int y, int z, int limit, @Nonnull Filter filter) {
+        Validate.notNull(world);
+        Validate.notNull(filter);
+        Validate.isTrue(limit > 0, "limit must be positive: %d", limit);
+        frontier.clear();
+        visited.clear();
+        length = 0;
+
+        long origin = PackedPositions.pack(x, y, z);
+        visited.add(origin);
+        frontier.add(origin);
+        found(origin);
+        while (length < limit && !frontier.isEmpty()) {
+            long cell = frontier.poll();
+            int cx = PackedPositions.unpackX(cell);
+            int cy = PackedPositions.unpackY(cell);
+            int cz = PackedPositions.unpackZ(cell);
+            for (int dy = -1; dy <= 1 && length < limit; dy++) {
+                for (int dz = -1; dz <= 1 && length < limit; dz++) {
+                    for (int dx = -1; dx <= 1 && length < limit; dx++) {
+                        int distance = Math.abs(dx) + Math.abs(dy) + Math.abs(dz);
+                        if (distance == 0 || !diagonal && distance > 1)
+                            continue;
+
+                        int nx = cx + dx, ny = cy + dy, nz = cz + dz;
+                        if (ny < 0 || ny >= world.getHeight() || !visited.add(PackedPositions.pack(nx, ny, nz)))
+                            continue;
+
+                        //Never load the chunk of a neighbor
+                        if (!world.blockExists(nx, ny, nz) || !filter.accept(nx, ny, nz))
+                            continue;
+
+                        long neighbor = PackedPositions.pack(nx, ny, nz);
+                        frontier.add(neighbor);
+                        found(neighbor);
+                    }
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the {@link PackedPositions packed} cell found at {@code index}.
+     *
+     * @param index the index of the cell, in search order
+     * @return the packed position of the cell
+     */
+    public long get(int index) {
+        Validate.isTrue(index >= 0 && index < length, "index out of bounds: %d", index);
+        return found[index];
+    }
+
+    private void found(long packed) {
+        if (length == found.length)
+            found = Arrays.copyOf(found, length << 1);
+        found[length++] = packed;
+    }
+
+}
@@ -0,0 +1,287 @@
+package mindcubr.github.forge.hammers.area;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.PlayerEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.relauncher.Side;
+import mindcubr.github.forge.hammers.HammersConfig;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * The <b>Hammer Scheduler</b> admits every {@link HammerSwing hammer swing}
+ * against a global budget per server tick and a budget per player.
+ * <p>The cost of a swing is {@link HammerSwing#getCost() estimated} up front.
+ * A swing is completed at once, if the global {@link HammersConfig#blocksPerTick}
+ * budget of the current tick and the budget of its player admit it. Otherwise, or if
+ * {@link HammersConfig#deferredBreaking} is enabled, the swing is queued as break job.
+ * <p>The queues of the players are drained at the end of every server tick in
+ * round robin, so every player gets a slice of the global budget in turn.
+ * The budget of a player is a token bucket, that regains
+ * {@link HammersConfig#playerBlocksPerTick} per tick up to the {@link HammersConfig#playerBurst}.
+ * A cell costing more than a full budget is processed alone once the bucket of its player
+ * is full, overdrawing both budgets, so such a swing is slowed down but never stalls.
+ * <p>Light seeds of swings are queued per world, if {@link HammersConfig#deferredLighting}
+ * is enabled, and recalculated within the {@link HammersConfig#lightsPerTick} budget.
+ * <p>Every swing is queued as well, while the {@link HammerWatchdog} degrades the hammers.
+ * <p>The scheduler has to be registered to the FML and the Forge event bus.
+ *
+ * @author mindcubr
+ * @see HammersConfig#deferredBreaking
+ * @since 4.0.0-alpha
+ */
+public class HammerScheduler {
+
+    /**
+     * The main instance of this scheduler.
+     */
+    public static final HammerScheduler SINGLETON = new HammerScheduler();
+
+    /**
+     * The maximum amount of cells a player processes, before it is the turn of the next player.
+     */
+    private static final int SLICE = 16;
+
+    /**
+     * The queues of every player, that used a hammer.
+     */
+    private final Map<UUID, PlayerQueue> players = new HashMap<>();
+
+    /**
+     * The player queues with queued swings, in round robin order.
+     */
+    private final Deque<PlayerQueue> rotation = new ArrayDeque<>();
+
+    /**
+     * The queued light seeds of every world.
+     */
+    private final Map<World, PackedPositionQueue> lights = new WeakHashMap<>();
+
+    /**
+     * The amount of server ticks elapsed.
+     */
+    private long tick;
+
+    /**
+     * The global budget left within the current server tick.
+     */
+    private int remaining = HammersConfig.blocksPerTick;
+
+    protected HammerScheduler() {
+        ;
+    }
+
+    /**
+     * Admits the {@code swing}, so either completes it at once, if the budgets
+     * admit its cost, or queues it as break job processed within the following ticks.
+     *
+     * @param swing the swing to be admitted
+     */
+    public void submit(@Nonnull HammerSwing swing) {
+        Validate.notNull(swing);
+        PlayerQueue queue = players.computeIfAbsent(swing.getPlayer().getUniqueID(), key -> new PlayerQueue());
+        queue.refill(tick);
+
+        //Complete at once, if nothing is queued before and the budgets admit it
+        final int cost = swing.getCost();
+        HammerWatchdog.SINGLETON.recordSwing(cost);
+        boolean deferred = HammersConfig.deferredBreaking
+                || HammerWatchdog.SINGLETON.isDegraded(HammerWatchdog.Level.DEFERRED);
+        if (!deferred && queue.swings.isEmpty()
+                && cost <= remaining && cost <= queue.tokens) {
+            remaining -= cost;
+            queue.tokens -= cost;
+            swing.complete();
+            return;
+        }
+
+        if (queue.swings.isEmpty())
+            rotation.addLast(queue);
+        queue.swings.addLast(swing);
+    }
+
+    /**
+     * Queues the {@link PackedPositions packed} {@code seed} to have its lighting
+     * recalculated within the following world ticks.
+     *
+     * @param world the world the seed is located in
+     * @param seed  the packed position to recalculate
+     */
+    public void submitLight(@Nonnull World world, long seed) {
+        Validate.notNull(world);
+        lights.computeIfAbsent(world, key -> new PackedPositionQueue()).add(seed);
+    }
+
+    /**
+     * Resets the global budget at the start and drains the queued
+     * swings at the end of every server tick.
+     */
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            ++tick;
+            remaining = HammersConfig.blocksPerTick;
+            return;
+        }
+        drainSwings();
+    }
+
+    /**
+     * Recalculates the queued light seeds of the ticked world.
+     */
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER)
+            return;
+        drainLights(event.world);
+    }
+
+    /**
+     * Drains the queued swings of every player in round robin, within the budgets.
+     */
+    private void drainSwings() {
+        if (rotation.isEmpty())
+            return;
+
+        //Players without budget are skipped until the next tick
+        final long deadline = System.nanoTime() + HammersConfig.microsPerTick * 1000L;
+        Deque<PlayerQueue> exhausted = new ArrayDeque<>();
+        while (remaining > 0 && !rotation.isEmpty()) {
+            PlayerQueue queue = rotation.pollFirst();
+            queue.refill(tick);
+            HammerSwing swing = queue.swings.peekFirst();
+            final int cellCost = swing.getCellCost();
+            int cells = Math.min(SLICE, Math.min(remaining, queue.tokens) / cellCost);
+
+            //A cell costlier than a full budget is admitted alone once the bucket is full
+            if (cells <= 0 && queue.tokens >= HammersConfig.playerBurst
+                    && cellCost > Math.min(HammersConfig.playerBurst, HammersConfig.blocksPerTick))
+                cells = 1;
+            if (cells <= 0 && !swing.isDone()) {
+                exhausted.addLast(queue);
+                continue;
+            }
+
+            int spent = swing.process(cells, deadline) * cellCost;
+            remaining -= spent;
+            queue.tokens -= spent;
+            if (swing.isDone()) {
+                queue.swings.pollFirst();
+                swing.finish();
+            }
+
+            if (!queue.swings.isEmpty())
+                rotation.addLast(queue);
+            if (System.nanoTime() >= deadline)
+                break;
+        }
+        rotation.addAll(exhausted);
+    }
+
+    /**
+     * Recalculates the queued light seeds of the {@code world} within the budget.
+     */
+    private void drainLights(World world) {
+        PackedPositionQueue queue = lights.get(world);
+        if (queue == null)
+            return;
+
+        for (int budget = HammersConfig.lightsPerTick; budget > 0 && !queue.isEmpty(); budget--) {
+            long seed = queue.poll();
+            world.func_147451_t(PackedPositions.unpackX(seed),
+                    PackedPositions.unpackY(seed), PackedPositions.unpackZ(seed));
+        }
+    }
+
+    /**
+     * Finishes every queued swing of the leaving player, so the broken
+     * part of the swings is billed and dropped.
+     */
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PlayerQueue queue = players.remove(event.player.getUniqueID());
+        if (queue == null)
+            return;
+
+        rotation.remove(queue);
+        for (HammerSwing swing; (swing = queue.swings.pollFirst()) != null; ) {
+            swing.finish();
+        }
+    }
+
+    /**
+     * Finishes every queued swing of the unloaded world, so the broken part of
+     * the swings is billed and handed to the player, and drops every light seed of it.
+     */
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        for (Iterator<PlayerQueue> itr = rotation.iterator(); itr.hasNext(); ) {
+            PlayerQueue queue = itr.next();
+            for (Iterator<HammerSwing> swings = queue.swings.iterator(); swings.hasNext(); ) {
+                HammerSwing swing = swings.next();
+                if (swing.getWorld() != event.world)
+                    continue;
+                swings.remove();
+
+                //Drops spawned into the unloaded world would be lost
+                EntityPlayer player = swing.getPlayer();
+                if (!player.isDead) {
+                    swing.getDrops().give(player);
+                    swing.getDrops().spawn(player.worldObj, MathHelper.floor_double(player.posX),
+                            MathHelper.floor_double(player.posY), MathHelper.floor_double(player.posZ));
+                }
+                swing.finish();
+            }
+            if (queue.swings.isEmpty())
+                itr.remove();
+        }
+
+        //The finished swings may have queued light seeds as well
+        lights.remove(event.world);
+    }
+
+    /**
+     * The queued swings and the budget of a single player.
+     */
+    private static class PlayerQueue {
+
+        /**
+         * The queued swings of the player, in submission order.
+         */
+        final Deque<HammerSwing> swings = new ArrayDeque<>();
+
+        /**
+         * The budget the player is able to spend.
+         */
+        int tokens = HammersConfig.playerBurst;
+
+        /**
+         * The tick at which the {@link #tokens} were refilled last.
+         */
+        long refilledAt;
+
+        /**
+         * Refills the {@link #tokens} for every tick elapsed since the last refill.
+         */
+        void refill(long tick) {
+            long elapsed = tick - refilledAt;
+            refilledAt = tick;
+            if (elapsed > 0)
+                tokens = (int) Math.min(HammersConfig.playerBurst, tokens + elapsed * HammersConfig.playerBlocksPerTick);
+        }
+
+    }
+
+}
@@ -0,0 +1,400 @@
+package mindcubr.github.forge.hammers.area;
+
+import lombok.Getter;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.event.HammerAreaBreakEvent;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import mindcubr.github.forge.hammers.journal.BreakJournal;
+import mindcubr.github.forge.hammers.network.HammersNetwork;
+import mindcubr.github.forge.hammers.network.MessageSwingAck;
+import net.minecraft.block.Block;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.common.util.FakePlayer;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * A <b>Hammer Swing</b> is the set of cells a single swing of an
+ * {@link ItemHammerTool} is going to break, together with the stack and
+ * player the breaking is billed to.
+ * <p>A swing is either completed at once, or processed piece by piece
+ * over multiple ticks by the {@link HammerScheduler}.
+ *
+ * @author mindcubr
+ * @see HammerScheduler
+ * @since 4.0.0-alpha
+ */
+public class HammerSwing {
+
+    /**
+     * The estimated cost of a chunk touched by a swing, in cells.
+     */
+    private static final int CHUNK_COST = 8;
+
+    /**
+     * The state of a cell, that was added without its planned state.
+     */
+    public static final int UNKNOWN_STATE = -1;
+
+    /**
+     * The tool this swing was started with.
+     */
+    @Getter
+    private final ItemHammerTool tool;
+
+    /**
+     * The stack that is damaged by this swing.
+     */
+    @Getter
+    private final ItemStack stack;
+
+    /**
+     * The player that started this swing.
+     */
+    @Getter
+    private final EntityPlayer player;
+
+    /**
+     * The world the cells of this swing are located in.
+     */
+    @Getter
+    private final World world;
+
+    /**
+     * The tridi-coordinates of the breaking center of this swing.
+     */
+    @Getter
+    private final int centerX, centerY, centerZ;
+
+    /**
+     * The buffer collecting the drops of every broken cell.
+     */
+    @Getter
+    private final DropBuffer drops = new DropBuffer();
+
+    /**
+     * The durability accounting of the {@link #stack} over this swing.
+     */
+    @Getter
+    private final SwingDurability durability;
+
+    /**
+     * The removal of the broken cells, flushed after every processing and relit when finished.
+     */
+    @Getter
+    private final BulkRemoval removal;
+
+    /**
+     * The fortune level of the {@link #stack}.
+     */
+    @Getter
+    private final int fortune;
+
+    /**
+     * Whether the {@link #stack} is enchanted with silk touch.
+     */
+    @Getter
+    private final boolean silkTouch;
+
+    /**
+     * The {@link PackedPositions packed} cells to be broken.
+     */
+    private final long[] cells;
+
+    /**
+     * The planned state of every cell, so the block id shifted by four bits
+     * plus the metadata, or {@link #UNKNOWN_STATE} if not known.
+     */
+    private final int[] states;
+
+    /**
+     * The amount of cells added to this swing.
+     */
+    private int length;
+
+    /**
+     * The {@link PackedPositions packed} cells actually broken by this swing.
+     */
+    private final long[] broken;
+
+    /**
+     * The amount of cells actually broken by this swing.
+     */
+    private int brokenLength;
+
+    /**
+     * The index of the next cell to be processed.
+     */
+    private int cursor;
+
+    /**
+     * The id of this swing within the {@link BreakJournal}, assigned on first request.
+     */
+    private long journalId;
+
+    /**
+     * The estimated cost of this swing, computed on first request.
+     */
+    private int cost = -1;
+
+    /**
+     * The total world time at which this swing was planned.
+     * <p>Cells are only checked again, if processed in a later tick
+     * and their state changed since the planning.
+     */
+    private final long plannedAt;
+
+    public HammerSwing(@Nonnull ItemHammerTool tool, @Nonnull ItemStack stack,
+                       @Nonnull EntityPlayer player, @Nonnull World world,
+                       int centerX, int centerY, int centerZ, int capacity) {
+        this.tool = Validate.notNull(tool);
+        this.stack = Validate.notNull(stack);
+        this.player = Validate.notNull(player);
+        this.world = Validate.notNull(world);
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.durability = new SwingDurability(stack);
+        this.removal = new BulkRemoval(world);
+        this.fortune = EnchantmentHelper.getEnchantmentLevel(Enchantment.fortune.effectId, stack);
+        this.silkTouch = EnchantmentHelper.getEnchantmentLevel(Enchantment.silkTouch.effectId, stack) > 0;
+        this.cells = new long[capacity];
+        this.states = new int[capacity];
+        this.broken = new long[capacity];
+        this.plannedAt = world.getTotalWorldTime();
+    }
+
+    /**
+     * Adds the cell at the input coordinates to this swing.
+     *
+     * @param x the tridi-x of the cell
+     * @param y the tridi-y of the cell
+     * @param z the tridi-z of the cell
+     * @throws ArrayIndexOutOfBoundsException if the capacity of this swing is exceeded
+     */
+    public void add(int x, int y, int z) {
+        add(x, y, z, UNKNOWN_STATE);
+    }
+
+    /**
+     * Adds the cell at the input coordinates with its planned {@code state} to this swing.
+     * <p>If the cell is processed in a later tick, it is only checked again, if its
+     * state differs from the planned {@code state}.
+     *
+     * @param x     the tridi-x of the cell
+     * @param y     the tridi-y of the cell
+     * @param z     the tridi-z of the cell
+     * @param state the block id shifted by four bits plus the metadata of the cell
+     * @throws ArrayIndexOutOfBoundsException if the capacity of this swing is exceeded
+     */
+    public void add(int x, int y, int z, int state) {
+        cells[length] = PackedPositions.pack(x, y, z);
+        states[length++] = state;
+    }
+
+    /**
+     * Returns the amount of cells added to this swing.
+     *
+     * @return the amount of cells to be broken
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Returns the id of this swing within the {@link BreakJournal}, assigning it if absent.
+     *
+     * @return the journal id of this swing
+     */
+    public long getJournalId() {
+        if (journalId == 0)
+            journalId = BreakJournal.SINGLETON.nextSwingId();
+        return journalId;
+    }
+
+    /**
+     * Returns the estimated cost of this swing, used by the {@link HammerScheduler}
+     * to admit the swing against its budgets.
+     * <p>The cost is the amount of cells plus the work of every touched chunk
+     * plus the expected amount of drops, which increases with the fortune level.
+     *
+     * @return the estimated cost, at least one
+     */
+    public int getCost() {
+        if (cost >= 0)
+            return cost;
+
+        //Count the touched chunks
+        PackedPositionSet chunks = new PackedPositionSet();
+        for (int i = 0; i < length; i++) {
+            long cell = cells[i];
+            chunks.add(PackedPositions.pack(PackedPositions.unpackX(cell) >> 4,
+                    0, PackedPositions.unpackZ(cell) >> 4));
+        }
+        int drops = silkTouch ? length : length + length * fortune / 2;
+        return cost = Math.max(length + CHUNK_COST * chunks.size() + drops, 1);
+    }
+
+    /**
+     * Returns the estimated cost of a single cell of this swing.
+     *
+     * @return the cost per cell, at least one
+     */
+    public int getCellCost() {
+        return Math.max(length == 0 ? 1 : (getCost() + length - 1) / length, 1);
+    }
+
+    /**
+     * Processes the next cells of this swing, until either the
+     * {@code maxBlocks} or the {@code deadline} is reached.
+     * <p>The {@link #removal} is flushed afterwards, so the neighbors of
+     * the processed cells are notified once per processing, and the accumulated
+     * {@link #durability} is committed to the stack.
+     *
+     * @param maxBlocks the maximum amount of cells to process
+     * @param deadline  the {@link System#nanoTime()} at which to stop processing
+     * @return the amount of cells processed
+     */
+    public int process(int maxBlocks, long deadline) {
+        //The changed cells are checked again, if the world had time to change
+        final boolean recheck = world.getTotalWorldTime() != plannedAt;
+        int processed = 0;
+        while (processed < maxBlocks && !isDone()) {
+            int planned = states[cursor];
+            long cell = cells[cursor++];
+            int x = PackedPositions.unpackX(cell);
+            int y = PackedPositions.unpackY(cell);
+            int z = PackedPositions.unpackZ(cell);
+            ++processed;
+
+            //Cells of chunks unloaded in the meantime are skipped, never loaded
+            if ((!recheck || world.blockExists(x, y, z) && isUnchangedOrBreakable(x, y, z, planned))
+                    && tool.harvestCell(this, x, y, z))
+                broken[brokenLength++] = cell;
+
+            if (System.nanoTime() >= deadline)
+                break;
+        }
+        removal.flush();
+
+        //Other swings of the stack may be processed before the next processing
+        durability.commit(player);
+        return processed;
+    }
+
+    /**
+     * Fires the {@link HammerAreaBreakEvent.Pre} with every added cell and
+     * removes the cells vetoed by its listeners.
+     * <p>This has to be invoked once, after every cell is added.
+     *
+     * @return <em>False</em> if the event was cancelled, so the whole swing is cancelled
+     */
+    public boolean announce() {
+        HammerAreaBreakEvent.Pre event = new HammerAreaBreakEvent.Pre(world, player, stack,
+                centerX, centerY, centerZ, Arrays.copyOf(cells, length));
+        if (MinecraftForge.EVENT_BUS.post(event))
+            return false;
+
+        //Keep the cells not vetoed, in their order
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (event.isVetoed(i))
+                continue;
+            cells[kept] = cells[i];
+            states[kept++] = states[i];
+        }
+        length = kept;
+        cost = -1;
+        return true;
+    }
+
+    /**
+     * Returns whether the cell at the input coordinates still has its {@code planned}
+     * state, or is breakable otherwise.
+     */
+    private boolean isUnchangedOrBreakable(int x, int y, int z, int planned) {
+        int blockId = Block.getIdFromBlock(world.getBlock(x, y, z));
+        int metadata = world.getBlockMetadata(x, y, z);
+        return (blockId << 4 | metadata) == planned || tool.isBreakable(world, x, y, z, blockId, metadata);
+    }
+
+    /**
+     * Tells the player, that this swing is accepted, or finished if {@code finished},
+     * so its client resolves the prediction of this swing.
+     *
+     * @param finished whether this swing is finished
+     */
+    public void acknowledge(boolean finished) {
+        if (player instanceof EntityPlayerMP && !(player instanceof FakePlayer)
+                && ((EntityPlayerMP) player).playerNetServerHandler != null)
+            HammersNetwork.CHANNEL.sendTo(new MessageSwingAck(centerX, centerY, centerZ, finished),
+                    (EntityPlayerMP) player);
+    }
+
+    /**
+     * Processes every cell of this swing at once and finishes it.
+     */
+    public void complete() {
+        process(Integer.MAX_VALUE, Long.MAX_VALUE);
+        finish();
+    }
+
+    /**
+     * Returns whether the input coordinates are the breaking center of this swing.
+     *
+     * @param x the tridi-x to check
+     * @param y the tridi-y to check
+     * @param z the tridi-z to check
+     * @return <em>True</em> if the coordinates are equal to the center
+     */
+    public boolean isCenter(int x, int y, int z) {
+        return x == centerX && y == centerY && z == centerZ;
+    }
+
+    /**
+     * Returns whether this swing has nothing left to process.
+     * <p>This is the case if every cell is processed, the stack is broken
+     * by the accumulated {@link #durability} or the player is no longer existent.
+     *
+     * @return <em>True</em> if this swing is done
+     */
+    public boolean isDone() {
+        return cursor >= length || durability.isExhausted() || stack.stackSize <= 0 || player.isDead;
+    }
+
+    /**
+     * Finishes this swing, after the last cell was processed.
+     * <p>The lighting of every broken cell is {@link BulkRemoval#relight() updated} once.
+     * The {@link #durability} accumulated since the last processing is committed to the stack.
+     * The buffered {@link #drops} are spawned at the breaking center,
+     * or put into the inventory of the player if {@link HammersConfig#directPickup}
+     * is enabled, so only the overflow is spawned. If the stack broke, it is
+     * removed from the hand of the player. The inventory of the player is
+     * synchronized once afterwards. Lastly the {@link HammerAreaBreakEvent.Post}
+     * is fired with every cell actually broken.
+     * <p>The player is told that the swing is finished, so the cells it predicted,
+     * but that were not broken, are restored.
+     */
+    public void finish() {
+        acknowledge(true);
+        removal.relight();
+        durability.commit(player);
+        if (HammersConfig.directPickup && !player.isDead && player.worldObj == world)
+            drops.give(player);
+        drops.spawn(world, centerX, centerY, centerZ);
+        if (stack.stackSize <= 0 && player.getCurrentEquippedItem() == stack)
+            player.destroyCurrentEquippedItem();
+        player.inventoryContainer.detectAndSendChanges();
+        MinecraftForge.EVENT_BUS.post(new HammerAreaBreakEvent.Post(world, player, stack,
+                centerX, centerY, centerZ, Arrays.copyOf(broken, brokenLength)));
+    }
+
+}
@@ -0,0 +1,161 @@
+package mindcubr.github.forge.hammers.area;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.PlayerEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import lombok.Getter;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.network.HammersNetwork;
+import mindcubr.github.forge.hammers.network.MessageWatchdogLevel;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The <b>Hammer Watchdog</b> degrades the hammer swings step by step, while
+ * the server is lagging, and restores them once it recovered.
+ * <p>The rolling tick time is the mean of the last hundred server ticks and is
+ * evaluated every {@link #WINDOW} ticks. Above {@link HammersConfig#degradeMspt}
+ * the watchdog steps down a {@link Level}, below {@link HammersConfig#recoverMspt}
+ * it steps up again. Every transition is logged with the tick time and the
+ * rolling cost of the swings, and sent to the players, so their predictions match.
+ * <p>The watchdog has to be registered to the FML event bus.
+ *
+ * @author mindcubr
+ * @see HammersConfig#watchdog
+ * @since 4.0.0-alpha
+ */
+public class HammerWatchdog {
+
+    private static final Logger LOGGER = LogManager.getLogger(Reference.MOD_ID);
+
+    /**
+     * The main instance of this watchdog.
+     */
+    public static final HammerWatchdog SINGLETON = new HammerWatchdog();
+
+    /**
+     * The amount of server ticks between two evaluations.
+     */
+    private static final int WINDOW = 100;
+
+    /**
+     * The degradation levels, from full to minimal hammer behaviour.
+     */
+    public enum Level {
+
+        /**
+         * Hammers behave as configured.
+         */
+        NORMAL,
+
+        /**
+         * Every swing is deferred to the scheduler.
+         */
+        DEFERRED,
+
+        /**
+         * Additionally the radial length of every swing is reduced.
+         */
+        REDUCED,
+
+        /**
+         * Hammers only break the targeted block.
+         */
+        CENTER_ONLY
+
+    }
+
+    /**
+     * The current degradation level.
+     */
+    @Getter
+    private Level level = Level.NORMAL;
+
+    /**
+     * The rolling mean of the swing cost, as of {@link HammerSwing#getCost()}.
+     */
+    @Getter
+    private float swingCost;
+
+    /**
+     * The amount of server ticks since the last evaluation.
+     */
+    private int ticks;
+
+    protected HammerWatchdog() {
+        ;
+    }
+
+    /**
+     * Returns whether the current {@link #level} is at least the {@code level}.
+     *
+     * @param level the level to compare with
+     * @return <em>True</em> if the hammers are degraded to the {@code level} or further
+     */
+    public boolean isDegraded(Level level) {
+        return this.level.compareTo(level) >= 0;
+    }
+
+    /**
+     * Accounts the estimated {@code cost} of a submitted swing to the rolling swing cost.
+     *
+     * @param cost the cost of the submitted swing
+     */
+    public void recordSwing(int cost) {
+        swingCost += (cost - swingCost) * 0.05F;
+    }
+
+    /**
+     * Evaluates the rolling tick time every {@link #WINDOW} ticks.
+     */
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || ++ticks < WINDOW)
+            return;
+        ticks = 0;
+
+        MinecraftServer server = MinecraftServer.getServer();
+        if (!HammersConfig.watchdog || server == null) {
+            transition(Level.NORMAL, 0);
+            return;
+        }
+
+        long sum = 0;
+        for (long time : server.tickTimeArray) {
+            sum += time;
+        }
+        double mspt = sum / (double) server.tickTimeArray.length / 1.0E6D;
+        Level[] levels = Level.values();
+        if (mspt > HammersConfig.degradeMspt && level.ordinal() < levels.length - 1)
+            transition(levels[level.ordinal() + 1], mspt);
+        else if (mspt < HammersConfig.recoverMspt && level.ordinal() > 0)
+            transition(levels[level.ordinal() - 1], mspt);
+    }
+
+    /**
+     * Sends the degraded {@link #level} to the joining player.
+     */
+    @SubscribeEvent
+    public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (level != Level.NORMAL && event.player instanceof EntityPlayerMP)
+            HammersNetwork.CHANNEL.sendTo(new MessageWatchdogLevel(level), (EntityPlayerMP) event.player);
+    }
+
+    private void transition(Level next, double mspt) {
+        if (next == level)
+            return;
+
+        if (next.ordinal() > level.ordinal())
+            LOGGER.warn(String.format("Hammers degraded from %s to %s at %.1f mspt, average swing cost %.0f",
+                    level, next, mspt, swingCost));
+        else
+            LOGGER.info(String.format("Hammers restored from %s to %s at %.1f mspt, average swing cost %.0f",
+                    level, next, mspt, swingCost));
+        level = next;
+        HammersNetwork.CHANNEL.sendToAll(new MessageWatchdogLevel(next));
+    }
+
+}
@@ -0,0 +1,93 @@
+package mindcubr.github.forge.hammers.area;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A <b>Packed Position Queue</b> is a growing ring buffer of
+ * {@link PackedPositions packed} positions, so positions can be queued
+ * without any boxing.
+ *
+ * @author mindcubr
+ * @see PackedPositions
+ * @since 4.0.0-alpha
+ */
+public class PackedPositionQueue {
+
+    /**
+     * The ring of this queue, the length is always a power of two.
+     */
+    private long[] ring;
+
+    /**
+     * The index of the head and the amount of queued positions.
+     */
+    private int head, size;
+
+    public PackedPositionQueue() {
+        this(16);
+    }
+
+    public PackedPositionQueue(int expected) {
+        int capacity = 16;
+        while (capacity < expected)
+            capacity <<= 1;
+        this.ring = new long[capacity];
+    }
+
+    /**
+     * Adds the {@code packed} position to the tail of this queue.
+     *
+     * @param packed the packed position to add
+     */
+    public void add(long packed) {
+        if (size == ring.length)
+            grow();
+        ring[(head + size++) & (ring.length - 1)] = packed;
+    }
+
+    /**
+     * Removes and returns the packed position at the head of this queue.
+     *
+     * @return the packed position at the head
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long poll() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        long packed = ring[head];
+        head = (head + 1) & (ring.length - 1);
+        --size;
+        return packed;
+    }
+
+    /**
+     * Returns the amount of queued positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this queue contains no positions.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every position of this queue, keeping the capacity.
+     */
+    public void clear() {
+        head = size = 0;
+    }
+
+    private void grow() {
+        long[] grown = new long[ring.length << 1];
+        int first = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, grown, 0, first);
+        System.arraycopy(ring, 0, grown, first, size - first);
+        ring = grown;
+        head = 0;
+    }
+
+}
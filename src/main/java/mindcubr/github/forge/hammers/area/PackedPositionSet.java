@@ -0,0 +1,133 @@
+package mindcubr.github.forge.hammers.area;
+
+import java.util.Arrays;
+
+/**
+ * A <b>Packed Position Set</b> is an open addressing hash set of
+ * {@link PackedPositions packed} positions, so positions can be collected
+ * and looked up without any boxing.
+ *
+ * @author mindcubr
+ * @see PackedPositions
+ * @since 4.0.0-alpha
+ */
+public class PackedPositionSet {
+
+    /**
+     * The marker of an empty slot.
+     * <p>This is the packed position of an x of <code>-2^25</code>, which
+     * is out of the bounds of every world.
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * The slots of this set, the length is always a power of two.
+     */
+    private long[] slots;
+
+    /**
+     * The amount of positions within this set.
+     */
+    private int size;
+
+    public PackedPositionSet() {
+        this(16);
+    }
+
+    public PackedPositionSet(int expected) {
+        this.slots = new long[capacityFor(expected)];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * Adds the {@code packed} position to this set.
+     *
+     * @param packed the packed position to add
+     * @return <em>True</em> if the position was not contained yet
+     */
+    public boolean add(long packed) {
+        if (size + 1 > slots.length >> 1)
+            rehash(slots.length << 1);
+
+        int mask = slots.length - 1;
+        for (int i = mix(packed) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == packed)
+                return false;
+            if (slot == EMPTY) {
+                slots[i] = packed;
+                ++size;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns whether this set contains the {@code packed} position.
+     *
+     * @param packed the packed position to check
+     * @return <em>True</em> if the position is contained
+     */
+    public boolean contains(long packed) {
+        int mask = slots.length - 1;
+        for (int i = mix(packed) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == packed)
+                return true;
+            if (slot == EMPTY)
+                return false;
+        }
+    }
+
+    /**
+     * Returns the amount of positions within this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this set contains no positions.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every position of this set, keeping the capacity.
+     */
+    public void clear() {
+        if (size == 0)
+            return;
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        int mask = capacity - 1;
+        for (long packed : old) {
+            if (packed == EMPTY)
+                continue;
+            int i = mix(packed) & mask;
+            while (slots[i] != EMPTY)
+                i = (i + 1) & mask;
+            slots[i] = packed;
+        }
+    }
+
+    private static int capacityFor(int expected) {
+        int capacity = 16;
+        while (capacity >> 1 < expected)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    private static int mix(long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+}
@@ -0,0 +1,62 @@
+package mindcubr.github.forge.hammers.area;
+
+/**
+ * Utility class to pack tridi-coordinates into a single primitive
+ * <code>long</code>, so positions can be stored without any boxed
+ * or allocated position objects.
+ * <p>The x and z coordinate take 26 bits each and the y coordinate
+ * takes the lowest 12 bits of the packed value.
+ *
+ * @author mindcubr
+ * @since 4.0.0-alpha
+ */
+public final class PackedPositions {
+
+    private static final int BITS_XZ = 26;
+
+    private static final int BITS_Y = 12;
+
+    private static final long MASK_XZ = (1L << BITS_XZ) - 1;
+
+    private static final long MASK_Y = (1L << BITS_Y) - 1;
+
+    private PackedPositions() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Packs the input coordinates into a single <code>long</code>.
+     *
+     * @param x the tridi-x to pack
+     * @param y the tridi-y to pack
+     * @param z the tridi-z to pack
+     * @return the packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) x & MASK_XZ) << (BITS_XZ + BITS_Y)
+                | ((long) z & MASK_XZ) << BITS_Y
+                | ((long) y & MASK_Y);
+    }
+
+    /**
+     * Returns the tridi-x of the {@code packed} position.
+     */
+    public static int unpackX(long packed) {
+        return (int) (packed >> (BITS_XZ + BITS_Y));
+    }
+
+    /**
+     * Returns the tridi-y of the {@code packed} position.
+     */
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - BITS_Y) >> (64 - BITS_Y));
+    }
+
+    /**
+     * Returns the tridi-z of the {@code packed} position.
+     */
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - BITS_XZ - BITS_Y) >> (64 - BITS_XZ));
+    }
+
+}
@@ -0,0 +1,275 @@
+package mindcubr.github.forge.hammers.area;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A <b>Region Snapshot</b> is a copy of the block ids and metadata of
+ * a cuboid region within a world, taken once per hammer swing.
+ * <p>Every touched {@link Chunk} and {@link ExtendedBlockStorage section} is
+ * resolved exactly once while capturing, instead of walking the chunk map
+ * for every single {@link World#getBlock(int, int, int)} call of the swing.
+ * <p>The copied data is stored in primitive arrays, whose index order is equal
+ * to the one of a section: <code>y</code>, then <code>z</code>, then <code>x</code>.
+ * <p>Besides the copied data, a snapshot keeps an occupancy mask of every cell
+ * and the amount of occupied cells of every layer, so air is skipped without
+ * any block lookup. Sections that are not allocated or only air are not copied at all.
+ * <p>A snapshot is never modified after capturing, so it is safe to be read by any thread.
+ *
+ * @author mindcubr
+ * @see #capture(World, int, int, int, int, int, int)
+ * @since 4.0.0-alpha
+ */
+public final class RegionSnapshot {
+
+    /**
+     * The lowest tridi-coordinates contained in this snapshot.
+     */
+    private final int minX, minY, minZ;
+
+    /**
+     * The length of this snapshot on every axis.
+     */
+    private final int sizeX, sizeY, sizeZ;
+
+    /**
+     * The copied block ids, as of {@link Block#getIdFromBlock(Block)}.
+     */
+    private final int[] blockIds;
+
+    /**
+     * The copied block metadata.
+     */
+    private final byte[] metadata;
+
+    /**
+     * The occupancy mask, one bit per cell, set if the cell is not air.
+     */
+    private final long[] occupied;
+
+    /**
+     * The amount of cells not being air within every layer, indexed by the height above {@link #minY}.
+     */
+    private final int[] layerCounts;
+
+    /**
+     * The amount of cells not being air within this snapshot.
+     */
+    private int occupiedCount;
+
+    private RegionSnapshot(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+
+        //Every cell out of world height stays air (id zero)
+        int volume = sizeX * sizeY * sizeZ;
+        this.blockIds = new int[volume];
+        this.metadata = new byte[volume];
+        this.occupied = new long[(volume + 63) >> 6];
+        this.layerCounts = new int[sizeY];
+    }
+
+    /**
+     * Captures the region in {@code world} between both input corners, inclusive.
+     * <p>Every chunk and section intersecting the region is resolved once, and
+     * then copied section by section into the returning snapshot.
+     * Cells that are out of the worlds height or within chunks, that are not
+     * loaded, are captured as air, so capturing never loads or generates a chunk.
+     *
+     * @param world the world to take the snapshot of
+     * @param minX  the lowest tridi-x of the region
+     * @param minY  the lowest tridi-y of the region
+     * @param minZ  the lowest tridi-z of the region
+     * @param maxX  the highest tridi-x of the region
+     * @param maxY  the highest tridi-y of the region
+     * @param maxZ  the highest tridi-z of the region
+     * @return the new snapshot instance
+     */
+    @Nonnull
+    public static RegionSnapshot capture(@Nonnull World world, int minX, int minY, int minZ,
+                                         int maxX, int maxY, int maxZ) {
+        Validate.notNull(world);
+        Validate.isTrue(minX <= maxX && minY <= maxY && minZ <= maxZ);
+        RegionSnapshot snapshot = new RegionSnapshot(minX, minY, minZ,
+                maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1);
+
+        //Clip the height to the sections a chunk can have
+        final int lowY = Math.max(minY, 0), highY = Math.min(maxY, world.getHeight() - 1);
+        if (lowY > highY)
+            return snapshot;
+
+        final IChunkProvider provider = world.getChunkProvider();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                //Never load or generate chunks, so unloaded chunks stay air
+                if (!provider.chunkExists(chunkX, chunkZ))
+                    continue;
+
+                //Resolve the chunk once, for every section within it
+                Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+                ExtendedBlockStorage[] storages = chunk.getBlockStorageArray();
+                for (int sectionY = lowY >> 4; sectionY <= highY >> 4; sectionY++) {
+                    ExtendedBlockStorage storage = storages[sectionY];
+                    if (storage == null || storage.isEmpty())
+                        continue; //Section is not allocated or only air
+                    snapshot.copySection(storage, chunkX << 4, sectionY << 4, chunkZ << 4, lowY, highY);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Copies the intersection of this region and the {@code storage}
+     * into this snapshots arrays.
+     *
+     * @param storage the section to copy from
+     * @param baseX   the lowest tridi-x of the section
+     * @param baseY   the lowest tridi-y of the section
+     * @param baseZ   the lowest tridi-z of the section
+     * @param lowY    the lowest valid world height of this region
+     * @param highY   the highest valid world height of this region
+     */
+    private void copySection(ExtendedBlockStorage storage, int baseX, int baseY, int baseZ, int lowY, int highY) {
+        final byte[] lsb = storage.getBlockLSBArray();
+        final NibbleArray msb = storage.getBlockMSBArray();
+        final NibbleArray meta = storage.getMetadataArray();
+        final int fromX = Math.max(minX, baseX), toX = Math.min(minX + sizeX - 1, baseX + 15);
+        final int fromY = Math.max(lowY, baseY), toY = Math.min(highY, baseY + 15);
+        final int fromZ = Math.max(minZ, baseZ), toZ = Math.min(minZ + sizeZ - 1, baseZ + 15);
+        for (int y = fromY; y <= toY; y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                int index = index(fromX, y, z);
+                for (int x = fromX; x <= toX; x++, index++) {
+                    int lx = x & 15, ly = y & 15, lz = z & 15;
+                    int id = lsb[ly << 8 | lz << 4 | lx] & 255;
+                    if (msb != null)
+                        id |= msb.get(lx, ly, lz) << 8;
+                    if (id == 0)
+                        continue; //Air stays zero and unoccupied
+                    blockIds[index] = id;
+                    metadata[index] = (byte) meta.get(lx, ly, lz);
+                    occupied[index >> 6] |= 1L << index;
+                    ++layerCounts[y - minY];
+                    ++occupiedCount;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the input coordinates are within this snapshot.
+     *
+     * @param x the tridi-x to check
+     * @param y the tridi-y to check
+     * @param z the tridi-z to check
+     * @return <em>True</em> if the coordinates are contained in this snapshot
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && y >= minY && z >= minZ
+                && x < minX + sizeX && y < minY + sizeY && z < minZ + sizeZ;
+    }
+
+    /**
+     * Returns whether the cell at the given coordinates is not air.
+     * <p>This only tests the occupancy mask, so air cells never reach
+     * any block lookup.
+     *
+     * @param x the tridi-x of the cell, within this snapshot
+     * @param y the tridi-y of the cell, within this snapshot
+     * @param z the tridi-z of the cell, within this snapshot
+     * @return <em>True</em> if the captured cell is not air
+     * @throws ArrayIndexOutOfBoundsException if the cell is not {@link #contains(int, int, int) contained}
+     */
+    public boolean isOccupied(int x, int y, int z) {
+        int index = index(x, y, z);
+        return (occupied[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Returns whether every cell of the layer at height {@code y} is air.
+     *
+     * @param y the tridi-y of the layer
+     * @return <em>True</em> if the layer is only air or out of this snapshot
+     */
+    public boolean isLayerEmpty(int y) {
+        return y < minY || y >= minY + sizeY || layerCounts[y - minY] == 0;
+    }
+
+    /**
+     * Returns whether every cell of this snapshot is air.
+     *
+     * @return <em>True</em> if this snapshot is only air
+     */
+    public boolean isEmpty() {
+        return occupiedCount == 0;
+    }
+
+    /**
+     * Returns the amount of cells within this snapshot.
+     *
+     * @return the volume of this snapshot
+     */
+    public int getVolume() {
+        return blockIds.length;
+    }
+
+    /**
+     * Returns the captured block id at the given coordinates.
+     *
+     * @param x the tridi-x of the cell, within this snapshot
+     * @param y the tridi-y of the cell, within this snapshot
+     * @param z the tridi-z of the cell, within this snapshot
+     * @return the captured block id
+     * @throws ArrayIndexOutOfBoundsException if the cell is not {@link #contains(int, int, int) contained}
+     */
+    public int getBlockId(int x, int y, int z) {
+        return blockIds[index(x, y, z)];
+    }
+
+    /**
+     * Returns the captured block at the given coordinates.
+     *
+     * @param x the tridi-x of the cell, within this snapshot
+     * @param y the tridi-y of the cell, within this snapshot
+     * @param z the tridi-z of the cell, within this snapshot
+     * @return the captured block, {@link net.minecraft.init.Blocks#air air} if the cell is empty
+     * @throws ArrayIndexOutOfBoundsException if the cell is not {@link #contains(int, int, int) contained}
+     */
+    @Nonnull
+    public Block getBlock(int x, int y, int z) {
+        return Block.getBlockById(getBlockId(x, y, z));
+    }
+
+    /**
+     * Returns the captured metadata at the given coordinates.
+     *
+     * @param x the tridi-x of the cell, within this snapshot
+     * @param y the tridi-y of the cell, within this snapshot
+     * @param z the tridi-z of the cell, within this snapshot
+     * @return the captured metadata
+     * @throws ArrayIndexOutOfBoundsException if the cell is not {@link #contains(int, int, int) contained}
+     */
+    public int getMetadata(int x, int y, int z) {
+        return metadata[index(x, y, z)];
+    }
+
+    /**
+     * Returns the array index of the given coordinates.
+     */
+    private int index(int x, int y, int z) {
+        return ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    }
+
+}
@@ -0,0 +1,138 @@
+package mindcubr.github.forge.hammers.area;
+
+import lombok.Getter;
+import mindcubr.github.forge.hammers.hook.HammersHook;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The <b>Swing Durability</b> accounts the damage and usages of a stack
+ * over a whole {@link HammerSwing}.
+ * <p>The damage of every broken block is accumulated locally and committed to the
+ * stack with a single damage and a single NBT write per processing of the swing.
+ * The remaining durability and the usages are read from the stack itself, when
+ * accounting after a commit, so multiple swings of the same stack queued at once
+ * never exceed the durability nor overwrite the usages of each other.
+ * <p>The usages are only written to stacks, that are damageable at all.
+ *
+ * @author mindcubr
+ * @see HammerSwing#getDurability()
+ * @since 4.0.0-alpha
+ */
+public class SwingDurability {
+
+    /**
+     * The stack this durability is accounted for.
+     */
+    private final ItemStack stack;
+
+    /**
+     * Whether the {@link #stack} is damageable at all.
+     */
+    private final boolean damageable;
+
+    /**
+     * The unbreaking enchantment level of the {@link #stack}.
+     */
+    private final int unbreaking;
+
+    /**
+     * The usages of the {@link #stack}, read from the stack on demand,
+     * or negative if not read since the last commit.
+     */
+    private int usages = -1;
+
+    /**
+     * Whether the swing is already counted as usage.
+     */
+    private boolean counted;
+
+    /**
+     * The accumulated damage, that is not committed yet.
+     */
+    @Getter
+    private int pending;
+
+    public SwingDurability(@Nonnull ItemStack stack) {
+        this.stack = Validate.notNull(stack);
+        this.damageable = stack.isItemStackDamageable();
+        this.unbreaking = stack.isItemEnchanted()
+                ? EnchantmentHelper.getEnchantmentLevel(Enchantment.unbreaking.effectId, stack)
+                : 0;
+    }
+
+    /**
+     * Accounts a single broken block.
+     * <p>With unbreaking, the stack is only damaged if the usages reached
+     * twice the enchantment level, whereupon the usages are reset.
+     */
+    public void account() {
+        if (!damageable)
+            return;
+
+        //Unbreaking I: every 2nd, II: 4th, III: 6th, ...
+        if (unbreaking != 0) {
+            if (readUsages() < 2 * unbreaking)
+                return;
+            usages = 0;
+        }
+        ++pending;
+    }
+
+    /**
+     * Returns whether the accumulated damage is going to break the stack.
+     *
+     * @return <em>True</em> if the stack breaks when committed
+     */
+    public boolean isExhausted() {
+        return damageable && pending > stack.getMaxDamage() - stack.getItemDamage();
+    }
+
+    /**
+     * Commits the accumulated damage and the usages to the stack, if damageable.
+     * <p>The stack is damaged once, with the whole accumulated damage. The usages
+     * are only written, if they were read since the last commit.
+     *
+     * @param holder the entity holding the stack
+     */
+    public void commit(@Nonnull EntityLivingBase holder) {
+        Validate.notNull(holder);
+        if (!damageable)
+            return;
+
+        //The swing counts as usage, even without any block broken
+        if (!counted)
+            readUsages();
+        if (usages >= 0) {
+            HammersHook.ItemHook.createAbsent(stack).setInteger(ItemHammerTool.USAGES_KEY, usages);
+            usages = -1;
+        }
+        if (pending > 0)
+            stack.damageItem(pending, holder);
+        pending = 0;
+    }
+
+    /**
+     * Returns the usages, reading them from the stack if not read since the last commit.
+     * <p>The swing itself is counted as usage once, when first read.
+     */
+    private int readUsages() {
+        if (usages < 0) {
+            NBTTagCompound compound = stack.getTagCompound();
+            usages = compound != null ? compound.getInteger(ItemHammerTool.USAGES_KEY) : 0;
+            if (!counted) {
+                ++usages;
+                counted = true;
+            }
+        }
+        return usages;
+    }
+
+}
@@ -0,0 +1,160 @@
+package mindcubr.github.forge.hammers.area;
+
+import lombok.Getter;
+import mindcubr.github.forge.hammers.area.shape.CompiledShape;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+
+/**
+ * A <b>Swing Plan</b> is the break list of a {@link HammerSwing}, computed
+ * purely out of a {@link RegionSnapshot} and the {@link BreakabilityTable} of the tool.
+ * <p>Computing a plan neither reads nor writes the world, so it is safe to be
+ * computed by any thread. Cells, whose breakability is not resolved yet, are
+ * marked as {@link #isUnresolved(int) unresolved} and have to be checked by the
+ * main thread when the plan is {@link #applyTo(HammerSwing) applied}.
+ * <p>Air is skipped through the occupancy of the snapshot, layer by layer
+ * and cell by cell, so air cells never reach the breakability table.
+ *
+ * @author mindcubr
+ * @see SwingPlanner
+ * @since 4.0.0-alpha
+ */
+public final class SwingPlan {
+
+    /**
+     * The {@link PackedPositions packed} planned cells.
+     */
+    private final long[] cells;
+
+    /**
+     * The captured state of every planned cell, so the block id
+     * shifted by four bits plus the metadata.
+     */
+    private final int[] states;
+
+    /**
+     * The indices of the planned cells, whose breakability is not resolved yet.
+     */
+    private final BitSet unresolved = new BitSet();
+
+    /**
+     * The amount of planned cells.
+     */
+    @Getter
+    private int length;
+
+    private SwingPlan(int capacity) {
+        this.cells = new long[capacity];
+        this.states = new int[capacity];
+    }
+
+    /**
+     * Computes the plan of every cell of the {@code shape} around the center,
+     * that is breakable as of the {@code table}.
+     *
+     * @param table         the breakability table of the swinging tool
+     * @param region        the captured region around the center, covering the {@code shape}
+     * @param shape         the compiled shape of the swing
+     * @param centerX       the tridi-x of the breaking center
+     * @param centerY       the tridi-y of the breaking center
+     * @param centerZ       the tridi-z of the breaking center
+     * @param includeCenter whether the breaking center is planned as well
+     * @return the computed plan
+     */
+    @Nonnull
+    public static SwingPlan compute(@Nonnull BreakabilityTable table, @Nonnull RegionSnapshot region,
+                                    @Nonnull CompiledShape shape, int centerX, int centerY, int centerZ,
+                                    boolean includeCenter) {
+        Validate.notNull(table);
+        Validate.notNull(region);
+        SwingPlan plan = new SwingPlan(region.isEmpty() ? 0 : shape.size());
+        if (region.isEmpty())
+            return plan;
+
+        for (int n = shape.size(), i = 0; i < n; i++) {
+            int offset = shape.get(i);
+            int y = centerY + CompiledShape.offsetY(offset);
+            if (region.isLayerEmpty(y)) {
+                //The offsets are ordered by y, so skip the whole layer
+                while (i + 1 < n && CompiledShape.offsetY(shape.get(i + 1)) == y - centerY)
+                    ++i;
+                continue;
+            }
+
+            int x = centerX + CompiledShape.offsetX(offset);
+            int z = centerZ + CompiledShape.offsetZ(offset);
+            if (!region.isOccupied(x, y, z)
+                    || !includeCenter && x == centerX && y == centerY && z == centerZ)
+                continue;
+
+            int blockId = region.getBlockId(x, y, z);
+            int metadata = region.getMetadata(x, y, z);
+            int breakability = table.lookup(blockId, metadata);
+            if (breakability == BreakabilityTable.UNBREAKABLE)
+                continue;
+
+            if (breakability == BreakabilityTable.UNKNOWN)
+                plan.unresolved.set(plan.length);
+            plan.cells[plan.length] = PackedPositions.pack(x, y, z);
+            plan.states[plan.length++] = blockId << 4 | metadata;
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the {@link PackedPositions packed} planned cell at {@code index}.
+     *
+     * @param index the index of the planned cell
+     * @return the packed position of the cell
+     */
+    public long getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Returns the captured state of the planned cell at {@code index}.
+     *
+     * @param index the index of the planned cell
+     * @return the block id shifted by four bits plus the metadata
+     */
+    public int getState(int index) {
+        return states[index];
+    }
+
+    /**
+     * Returns whether the breakability of the planned cell at {@code index} is not resolved yet.
+     *
+     * @param index the index of the planned cell
+     * @return <em>True</em> if the cell has to be checked by the main thread
+     */
+    public boolean isUnresolved(int index) {
+        return unresolved.get(index);
+    }
+
+    /**
+     * Adds every planned cell to the {@code swing}, with its captured state.
+     * <p>The unresolved cells are resolved with the captured state, by the
+     * {@link ItemHammerTool#isBreakable(net.minecraft.world.World, int, int, int, int, int) tool}
+     * of the {@code swing}. This has to be invoked by the main thread.
+     *
+     * @param swing the swing to add the planned cells to
+     */
+    public void applyTo(@Nonnull HammerSwing swing) {
+        Validate.notNull(swing);
+        final ItemHammerTool tool = swing.getTool();
+        for (int i = 0; i < length; i++) {
+            long cell = cells[i];
+            int x = PackedPositions.unpackX(cell);
+            int y = PackedPositions.unpackY(cell);
+            int z = PackedPositions.unpackZ(cell);
+            int state = states[i];
+            if (unresolved.get(i) && !tool.isBreakable(swing.getWorld(), x, y, z, state >> 4, state & 15))
+                continue;
+            swing.add(x, y, z, state);
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package mindcubr.github.forge.hammers.area;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.area.shape.CompiledShape;
+import net.minecraftforge.common.DimensionManager;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The <b>Swing Planner</b> computes the {@link SwingPlan plans} of hammer swings
+ * and hands the planned swings to the {@link HammerScheduler}.
+ * <p>If {@link HammersConfig#plannerThreads} is positive, the plans are computed by
+ * a pool of worker threads out of the captured {@link RegionSnapshot}, and applied by
+ * the main thread at the start of the next server tick. Otherwise the plan is computed
+ * and applied at once. The breaking center is never planned, as it is broken by the
+ * vanilla breaking including its drops and experience, so the swing only accounts its durability.
+ * <p>Every planned swing is announced through the
+ * {@link mindcubr.github.forge.hammers.event.HammerAreaBreakEvent.Pre} before being scheduled.
+ * <p>The drops are not planned, as computing them may read the world, which
+ * is only safe on the main thread.
+ * <p>The planner has to be registered to the FML event bus.
+ *
+ * @author mindcubr
+ * @see SwingPlan
+ * @since 4.0.0-alpha
+ */
+public class SwingPlanner {
+
+    private static final Logger LOGGER = LogManager.getLogger(Reference.MOD_ID);
+
+    /**
+     * The main instance of this planner.
+     */
+    public static final SwingPlanner SINGLETON = new SwingPlanner();
+
+    /**
+     * The swings planned by the workers, not applied yet.
+     */
+    private final Queue<PlannedSwing> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The worker pool, created on first use.
+     */
+    private ExecutorService workers;
+
+    protected SwingPlanner() {
+        ;
+    }
+
+    /**
+     * Plans the {@code swing} out of the {@code region} and the {@code shape} and
+     * submits it to the {@link HammerScheduler}, once planned.
+     *
+     * @param swing  the swing to be planned, without any cell added
+     * @param region the captured region around the breaking center, covering the {@code shape}
+     * @param shape  the compiled shape of the swing
+     */
+    public void plan(@Nonnull HammerSwing swing, @Nonnull RegionSnapshot region, @Nonnull CompiledShape shape) {
+        Validate.notNull(swing);
+        Validate.notNull(region);
+        Validate.notNull(shape);
+        final BreakabilityTable table = swing.getTool().getBreakability();
+
+        //The center is broken by the vanilla breaking right afterwards
+        swing.getDurability().account();
+        if (HammersConfig.plannerThreads <= 0) {
+            SwingPlan.compute(table, region, shape, swing.getCenterX(),
+                    swing.getCenterY(), swing.getCenterZ(), false).applyTo(swing);
+            submit(swing);
+            return;
+        }
+        workers().execute(() -> {
+            SwingPlan plan = null;
+            try {
+                plan = SwingPlan.compute(table, region, shape, swing.getCenterX(),
+                        swing.getCenterY(), swing.getCenterZ(), false);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Could not plan hammer swing", ex);
+            }
+            completed.add(new PlannedSwing(swing, plan));
+        });
+    }
+
+    /**
+     * Applies the swings planned by the workers at the start of every server tick.
+     */
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.START)
+            return;
+
+        for (PlannedSwing planned; (planned = completed.poll()) != null; ) {
+            HammerSwing swing = planned.swing;
+            int dimension = swing.getWorld().provider.dimensionId;
+
+            //Failed plans and plans of unloaded worlds only bill the already accounted center
+            if (planned.plan == null || DimensionManager.getWorld(dimension) != swing.getWorld()) {
+                swing.finish();
+                continue;
+            }
+            planned.plan.applyTo(swing);
+            submit(swing);
+        }
+    }
+
+    /**
+     * Announces the planned {@code swing} to the listeners of the
+     * {@link mindcubr.github.forge.hammers.event.HammerAreaBreakEvent} and
+     * submits it to the {@link HammerScheduler}, unless cancelled. The player is
+     * told that the swing is accepted.
+     * <p>This is used for swings, whose cells are already added by the main thread.
+     *
+     * @param swing the swing with every cell added
+     */
+    public void submit(@Nonnull HammerSwing swing) {
+        Validate.notNull(swing);
+        if (!swing.announce()) {
+            swing.finish();
+            return;
+        }
+
+        //The scheduler may queue the swing, so the client keeps its prediction meanwhile
+        swing.acknowledge(false);
+        HammerScheduler.SINGLETON.submit(swing);
+    }
+
+    /**
+     * Returns the worker pool, creating it if absent.
+     */
+    private synchronized ExecutorService workers() {
+        if (workers == null) {
+            AtomicInteger counter = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(HammersConfig.plannerThreads, runnable -> {
+                Thread thread = new Thread(runnable, "Hammers Planner #" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workers;
+    }
+
+    /**
+     * A swing together with its plan computed by a worker.
+     */
+    private static class PlannedSwing {
+
+        final HammerSwing swing;
+
+        final SwingPlan plan;
+
+        PlannedSwing(HammerSwing swing, SwingPlan plan) {
+            this.swing = swing;
+            this.plan = plan;
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package mindcubr.github.forge.hammers.area;
+
+import mindcubr.github.forge.hammers.HammersConfig;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockLeaves;
+import net.minecraft.block.BlockLog;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Facing;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.BlockEvent;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The <b>Tree Felling</b> fells the whole log structure connected to a
+ * broken log at once.
+ * <p>The logs are found by a reused {@link FloodFill}, bounded by the
+ * {@link HammersConfig#fellingLimit}, and removed through a single {@link BulkRemoval}.
+ * Only logs of the same block and wood type are felled, and only if a natural leaf
+ * is next to any of them, so neighboring trees and log builds of players are left alone.
+ * Breaking a log usually lets every leaf around it begin to decay, so a tree
+ * is scanned as many times as it has logs. The felling skips that per log and
+ * marks the leaves around the felled logs for decay in a single pass instead.
+ * <p>The drops of the logs are merged through a {@link DropBuffer} and spawned at the broken log.
+ * The felling is only used by the main thread.
+ *
+ * @author mindcubr
+ * @see mindcubr.github.forge.hammers.item.custom.ItemUnbreakingAxe
+ * @since 4.0.0-alpha
+ */
+public class TreeFelling {
+
+    /**
+     * The main instance of this felling.
+     */
+    public static final TreeFelling SINGLETON = new TreeFelling();
+
+    /**
+     * The range around a log, in which leaves begin to decay, equal to vanilla logs.
+     */
+    private static final int LEAF_RANGE = 4;
+
+    /**
+     * The flood fill searching the logs, reused by every felling.
+     */
+    private final FloodFill logs = new FloodFill(true);
+
+    protected TreeFelling() {
+        ;
+    }
+
+    /**
+     * Fells every log connected to the log at {@code x}, {@code y} and {@code z},
+     * excluding that log itself, as it is broken by the vanilla breaking.
+     *
+     * @param stack  the axe stack the tree is felled with
+     * @param world  the world the tree is located in
+     * @param player the player felling the tree
+     * @param x      the tridi-x of the broken log
+     * @param y      the tridi-y of the broken log
+     * @param z      the tridi-z of the broken log
+     * @return the amount of logs felled, excluding the broken log
+     */
+    public int fell(@Nonnull ItemStack stack, @Nonnull World world, @Nonnull EntityPlayer player,
+                    int x, int y, int z) {
+        Validate.notNull(stack);
+        Validate.notNull(world);
+        Validate.notNull(player);
+        final Block log = world.getBlock(x, y, z);
+        if (!log.isWood(world, x, y, z))
+            return 0;
+
+        //Only the logs of the same block and wood type, so neighboring trees are left alone
+        final int type = world.getBlockMetadata(x, y, z) & 3;
+        int length = logs.fill(world, x, y, z, HammersConfig.fellingLimit, (cx, cy, cz) ->
+                world.getBlock(cx, cy, cz) == log && (world.getBlockMetadata(cx, cy, cz) & 3) == type);
+        if (!hasLeaves(world, length))
+            return 0;
+        final int fortune = EnchantmentHelper.getEnchantmentLevel(Enchantment.fortune.effectId, stack);
+        final boolean silkTouch = EnchantmentHelper.getEnchantmentLevel(Enchantment.silkTouch.effectId, stack) > 0;
+        BulkRemoval removal = new BulkRemoval(world);
+        DropBuffer drops = new DropBuffer();
+        int felled = 0;
+        int minX = x, minY = y, minZ = z, maxX = x, maxY = y, maxZ = z;
+
+        //The first cell is the broken log itself
+        for (int i = 1; i < length; i++) {
+            long cell = logs.get(i);
+            int cx = PackedPositions.unpackX(cell);
+            int cy = PackedPositions.unpackY(cell);
+            int cz = PackedPositions.unpackZ(cell);
+            Block block = world.getBlock(cx, cy, cz);
+            int metadata = world.getBlockMetadata(cx, cy, cz);
+            if (MinecraftForge.EVENT_BUS.post(new BlockEvent.BreakEvent(cx, cy, cz, world, block, metadata, player)))
+                continue;
+
+            //The leaf decay of vanilla logs is done in bulk afterwards
+            boolean silk = silkTouch && block.canSilkHarvest(world, player, cx, cy, cz, metadata);
+            if (!removal.remove(cx, cy, cz, block, metadata, !(block instanceof BlockLog)))
+                continue;
+            DropCache.SINGLETON.collect(drops, world, player, block, cx, cy, cz,
+                    metadata, silk ? 0 : fortune, silk);
+            ++felled;
+            minX = Math.min(minX, cx);
+            minY = Math.min(minY, cy);
+            minZ = Math.min(minZ, cz);
+            maxX = Math.max(maxX, cx);
+            maxY = Math.max(maxY, cy);
+            maxZ = Math.max(maxZ, cz);
+        }
+        removal.flush();
+        removal.relight();
+        if (felled > 0)
+            decayLeaves(world, minX - LEAF_RANGE, minY - LEAF_RANGE, minZ - LEAF_RANGE,
+                    maxX + LEAF_RANGE, maxY + LEAF_RANGE, maxZ + LEAF_RANGE);
+        drops.spawn(world, x, y, z);
+        return felled;
+    }
+
+    /**
+     * Returns whether any of the first {@code length} filled logs is next to a natural leaf,
+     * so log structures built by players are not felled.
+     */
+    private boolean hasLeaves(World world, int length) {
+        for (int i = 0; i < length; i++) {
+            long cell = logs.get(i);
+            int x = PackedPositions.unpackX(cell);
+            int y = PackedPositions.unpackY(cell);
+            int z = PackedPositions.unpackZ(cell);
+            for (int side = 0; side < 6; side++) {
+                int nx = x + Facing.offsetsXForSide[side];
+                int ny = y + Facing.offsetsYForSide[side];
+                int nz = z + Facing.offsetsZForSide[side];
+                if (!world.blockExists(nx, ny, nz))
+                    continue;
+
+                //Leaves placed by players never decay
+                Block block = world.getBlock(nx, ny, nz);
+                if (block.isLeaves(world, nx, ny, nz) && (!(block instanceof BlockLeaves)
+                        || (world.getBlockMetadata(nx, ny, nz) & 4) == 0))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lets every loaded leaf within the bounds begin to decay, visiting every cell once.
+     */
+    private static void decayLeaves(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        minY = Math.max(minY, 0);
+        maxY = Math.min(maxY, world.getHeight() - 1);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                //Never load the chunk of a column
+                if (!world.blockExists(x, 0, z))
+                    continue;
+                for (int y = minY; y <= maxY; y++) {
+                    Block block = world.getBlock(x, y, z);
+                    if (block.isLeaves(world, x, y, z))
+                        block.beginLeavesDecay(world, x, y, z);
+                }
+            }
+        }
+    }
+
+}
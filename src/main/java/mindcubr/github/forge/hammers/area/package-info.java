@@ -0,0 +1,13 @@
+/**
+ * This package is handling the <em>area breaking</em> of the
+ * {@link mindcubr.github.forge.hammers.item.ItemHammerTool}, so every
+ * block that is broken nearby the breaking center of a hammer swing.
+ *
+ * <p>The classes in here are meant to keep the amount of work per swing
+ * as low as possible, as a single swing of a high level hammer is
+ * touching way more blocks than any vanilla tool does.
+ *
+ * @see mindcubr.github.forge.hammers.item.ItemHammerTool
+ */
+
+package mindcubr.github.forge.hammers.area;
@@ -0,0 +1,99 @@
+package mindcubr.github.forge.hammers.area.shape;
+
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A <b>Compiled Shape</b> is the offset table of a {@link HammerShape} for
+ * a particular radial length and face.
+ * <p>Every offset to the breaking center is packed into a single <code>int</code>,
+ * whereas each axis takes eight bits. The offsets are sorted in the order a chunk
+ * section stores its blocks, so <code>y</code>, then <code>z</code>, then <code>x</code>.
+ *
+ * @author mindcubr
+ * @see ShapeTable
+ * @since 4.0.0-alpha
+ */
+public final class CompiledShape {
+
+    private static final int BIAS = 128;
+
+    /**
+     * The packed and sorted offsets of this shape.
+     */
+    private final int[] offsets;
+
+    /**
+     * The bounds of the offsets of this shape, inclusive.
+     */
+    @Getter
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+    CompiledShape(@Nonnull int[] offsets) {
+        this.offsets = offsets;
+        int minX = 0, minY = 0, minZ = 0, maxX = 0, maxY = 0, maxZ = 0;
+        for (int packed : offsets) {
+            minX = Math.min(minX, offsetX(packed));
+            minY = Math.min(minY, offsetY(packed));
+            minZ = Math.min(minZ, offsetZ(packed));
+            maxX = Math.max(maxX, offsetX(packed));
+            maxY = Math.max(maxY, offsetY(packed));
+            maxZ = Math.max(maxZ, offsetZ(packed));
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Returns the amount of offsets of this shape.
+     *
+     * @return the amount of cells this shape covers
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns the packed offset at {@code index}.
+     *
+     * @param index the index of the offset
+     * @return the packed offset, to be unpacked with {@link #offsetX(int)} and others
+     */
+    public int get(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Packs the input offsets into a single <code>int</code>.
+     */
+    static int pack(int dx, int dy, int dz) {
+        return (dy + BIAS) << 16 | (dz + BIAS) << 8 | (dx + BIAS);
+    }
+
+    /**
+     * Returns the x offset of the {@code packed} offset.
+     */
+    public static int offsetX(int packed) {
+        return (packed & 255) - BIAS;
+    }
+
+    /**
+     * Returns the y offset of the {@code packed} offset.
+     */
+    public static int offsetY(int packed) {
+        return (packed >> 16 & 255) - BIAS;
+    }
+
+    /**
+     * Returns the z offset of the {@code packed} offset.
+     */
+    public static int offsetZ(int packed) {
+        return (packed >> 8 & 255) - BIAS;
+    }
+
+}
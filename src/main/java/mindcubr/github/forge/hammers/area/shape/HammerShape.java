@@ -0,0 +1,158 @@
+package mindcubr.github.forge.hammers.area.shape;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The <b>Hammer Shape</b> determines which cells around the breaking center
+ * are broken by a hammer swing.
+ * <p>Shapes are not evaluated while breaking, but {@link ShapeTable compiled}
+ * into offset tables once per radial length and face.
+ *
+ * @author mindcubr
+ * @see ShapeTable
+ * @since 4.0.0-alpha
+ */
+public enum HammerShape {
+
+    /**
+     * The full cube centered on the breaking center, the default shape.
+     */
+    CUBE("Cube", false) {
+        @Override
+        boolean contains(int dx, int dy, int dz, int radial, int face) {
+            int radius = radial / 2;
+            return Math.abs(dx) <= radius && Math.abs(dy) <= radius && Math.abs(dz) <= radius;
+        }
+    },
+
+    /**
+     * A single layer of the cube, facing the hit side.
+     */
+    PLANE("Plane", true) {
+        @Override
+        boolean contains(int dx, int dy, int dz, int radial, int face) {
+            return along(face, dx, dy, dz) == 0 && CUBE.contains(dx, dy, dz, radial, face);
+        }
+    },
+
+    /**
+     * A rounded cube centered on the breaking center.
+     */
+    SPHERE("Sphere", false) {
+        @Override
+        boolean contains(int dx, int dy, int dz, int radial, int face) {
+            int radius = radial / 2;
+            return dx * dx + dy * dy + dz * dz <= radius * radius + radius;
+        }
+    },
+
+    /**
+     * A three by three tunnel, going the radial length into the hit side.
+     */
+    TUNNEL("Tunnel", true) {
+        @Override
+        boolean contains(int dx, int dy, int dz, int radial, int face) {
+            //Depth into the hit side, so against the sides normal
+            int depth = (face & 1) == 0 ? along(face, dx, dy, dz) : -along(face, dx, dy, dz);
+            if (depth < 0 || depth >= radial)
+                return false;
+
+            //Cross section of the tunnel
+            int spanX = face >> 1 == 2 ? 0 : dx;
+            int spanY = face >> 1 == 0 ? 0 : dy;
+            int spanZ = face >> 1 == 1 ? 0 : dz;
+            return Math.abs(spanX) <= 1 && Math.abs(spanY) <= 1 && Math.abs(spanZ) <= 1;
+        }
+    },
+
+    /**
+     * The ore vein connected to the breaking center, only available to hammers of
+     * the unbreaking material. The vein is flood-filled while breaking, so only the
+     * breaking center itself is compiled.
+     */
+    VEIN("Vein", false) {
+        @Override
+        boolean contains(int dx, int dy, int dz, int radial, int face) {
+            return dx == 0 && dy == 0 && dz == 0;
+        }
+    };
+
+    /**
+     * The name displayed to the player.
+     */
+    @Getter
+    private final String displayName;
+
+    /**
+     * Whether this shape depends on the hit side.
+     */
+    @Getter
+    private final boolean oriented;
+
+    HammerShape(String displayName, boolean oriented) {
+        this.displayName = displayName;
+        this.oriented = oriented;
+    }
+
+    /**
+     * Returns whether the cell at the input offset to the breaking center
+     * is part of this shape.
+     *
+     * @param dx     the x offset to the breaking center
+     * @param dy     the y offset to the breaking center
+     * @param dz     the z offset to the breaking center
+     * @param radial the radial length of the hammer
+     * @param face   the hit side, as of {@link net.minecraft.util.MovingObjectPosition#sideHit}
+     * @return <em>True</em> if the cell is part of this shape
+     */
+    abstract boolean contains(int dx, int dy, int dz, int radial, int face);
+
+    /**
+     * Returns the shape following this one, used to cycle through the shapes.
+     *
+     * @return the next shape, or the first shape if this is the last one
+     */
+    @Nonnull
+    public HammerShape next() {
+        HammerShape[] shapes = values();
+        return shapes[(ordinal() + 1) % shapes.length];
+    }
+
+    /**
+     * Returns the shape with the input {@code name}, ignoring the case.
+     *
+     * @param name     the name of the shape
+     * @param fallback the shape returned, if no shape is matching
+     * @return the matching shape, or {@code fallback}
+     */
+    public static HammerShape byName(String name, HammerShape fallback) {
+        for (HammerShape shape : values()) {
+            if (StringUtils.equalsIgnoreCase(shape.name(), name))
+                return shape;
+        }
+        return fallback;
+    }
+
+    /**
+     * Returns the offset along the axis of the hit {@code face}.
+     */
+    private static int along(int face, int dx, int dy, int dz) {
+        switch (face >> 1) {
+            //Bottom and top
+            case 0:
+                return dy;
+
+            //North and south
+            case 1:
+                return dz;
+
+            //West and east
+            default:
+                return dx;
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package mindcubr.github.forge.hammers.area.shape;
+
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * The <b>Shape Table</b> contains every {@link HammerShape} compiled for a
+ * single radial length and every face, so the break path of a hammer only
+ * iterates a {@link CompiledShape}.
+ * <p>Tables are compiled once per radial length and shared afterwards.
+ *
+ * @author mindcubr
+ * @see #forRadial(int)
+ * @since 4.0.0-alpha
+ */
+public final class ShapeTable {
+
+    /**
+     * The amount of faces a block has.
+     */
+    public static final int FACES = 6;
+
+    /**
+     * The compiled tables, with the radial length as index.
+     */
+    private static ShapeTable[] tables = new ShapeTable[0];
+
+    /**
+     * The compiled shapes, indexed by the shapes ordinal times {@link #FACES} plus the face.
+     */
+    private final CompiledShape[] shapes;
+
+    private ShapeTable(int radial) {
+        HammerShape[] values = HammerShape.values();
+        this.shapes = new CompiledShape[values.length * FACES];
+        for (HammerShape shape : values) {
+            for (int face = 0; face < FACES; face++) {
+                //Shapes not depending on the face share the same table
+                int index = shape.ordinal() * FACES + face;
+                shapes[index] = !shape.isOriented() && face != 0
+                        ? shapes[index - face]
+                        : compile(shape, radial, face);
+            }
+        }
+    }
+
+    /**
+     * Returns the table for the input {@code radial} length, compiling it if absent.
+     *
+     * @param radial the radial length, as of {@link mindcubr.github.forge.hammers.item.ItemHammerLevel#getRadial()}
+     * @return the shared table of the {@code radial} length
+     */
+    @Nonnull
+    public static synchronized ShapeTable forRadial(int radial) {
+        Validate.isTrue(radial > 0 && radial < 64, "radial out of bounds: %d", radial);
+        if (radial >= tables.length)
+            tables = Arrays.copyOf(tables, radial + 1);
+
+        ShapeTable table = tables[radial];
+        if (table == null)
+            tables[radial] = table = new ShapeTable(radial);
+        return table;
+    }
+
+    /**
+     * Returns the compiled {@code shape} for the hit {@code face}.
+     *
+     * @param shape the shape to get
+     * @param face  the hit side, as of {@link net.minecraft.util.MovingObjectPosition#sideHit}
+     * @return the compiled shape
+     */
+    @Nonnull
+    public CompiledShape get(@Nonnull HammerShape shape, int face) {
+        return shapes[shape.ordinal() * FACES + Math.floorMod(face, FACES)];
+    }
+
+    /**
+     * Compiles the {@code shape} into its sorted offset table.
+     */
+    private static CompiledShape compile(HammerShape shape, int radial, int face) {
+        int[] offsets = new int[(2 * radial + 1) * (2 * radial + 1) * (2 * radial + 1)];
+        int length = 0;
+        for (int dy = -radial; dy <= radial; dy++) {
+            for (int dz = -radial; dz <= radial; dz++) {
+                for (int dx = -radial; dx <= radial; dx++) {
+                    if (shape.contains(dx, dy, dz, radial, face))
+                        offsets[length++] = CompiledShape.pack(dx, dy, dz);
+                }
+            }
+        }
+
+        //Sorted by y, z and x, as the packing is ordered so
+        offsets = Arrays.copyOf(offsets, length);
+        Arrays.sort(offsets);
+        return new CompiledShape(offsets);
+    }
+
+}
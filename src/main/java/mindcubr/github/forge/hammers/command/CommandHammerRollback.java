@@ -0,0 +1,81 @@
+package mindcubr.github.forge.hammers.command;
+
+import com.mojang.authlib.GameProfile;
+import mindcubr.github.forge.hammers.journal.BreakJournal;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.NumberInvalidException;
+import net.minecraft.command.PlayerNotFoundException;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ChatComponentText;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The <b>Hammer Rollback</b> command rolls hammer swings back, that are
+ * recorded within the {@link BreakJournal}.
+ * <p>Either the last swings of a player are rolled back, with
+ * <code>/hammerrollback &lt;player&gt; [swings]</code>, or a single swing
+ * by its journal id, with <code>/hammerrollback swing &lt;id&gt;</code>.
+ *
+ * @author mindcubr
+ * @see BreakJournal
+ * @since 4.0.0-alpha
+ */
+public class CommandHammerRollback extends CommandBase {
+
+    @Override
+    public String getCommandName() {
+        return "hammerrollback";
+    }
+
+    @Override
+    public String getCommandUsage(ICommandSender sender) {
+        return "/hammerrollback <player> [swings] | /hammerrollback swing <id>";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 3;
+    }
+
+    @Override
+    public void processCommand(ICommandSender sender, String[] args) {
+        if (args.length < 1 || args.length > 2)
+            throw new WrongUsageException(getCommandUsage(sender));
+
+        BreakJournal journal = BreakJournal.SINGLETON;
+        if (!journal.isOpen())
+            throw new CommandException("The hammer journal is disabled");
+
+        try {
+            int restored;
+            if (args[0].equalsIgnoreCase("swing")) {
+                if (args.length != 2 || !StringUtils.isNumeric(args[1]) || args[1].length() > 18)
+                    throw new NumberInvalidException("commands.generic.num.invalid", args.length == 2 ? args[1] : "");
+                restored = journal.rollbackSwing(Long.parseLong(args[1]));
+            } else {
+                GameProfile profile = MinecraftServer.getServer().func_152358_ax().func_152655_a(args[0]);
+                if (profile == null)
+                    throw new PlayerNotFoundException();
+                int swings = args.length == 2 ? parseIntBounded(sender, args[1], 1, 1024) : 1;
+                restored = journal.rollback(profile.getId(), swings);
+            }
+            sender.addChatMessage(new ChatComponentText("Restored " + restored + " blocks"));
+        } catch (IOException ex) {
+            throw new CommandException("Could not read the hammer journal: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+        return args.length == 1 ? getListOfStringsMatchingLastWord(args,
+                MinecraftServer.getServer().getAllUsernames()) : null;
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * This package contains the server commands of this modification.
+ *
+ * @see mindcubr.github.forge.hammers.HammersMod#serverStarting(cpw.mods.fml.common.event.FMLServerStartingEvent)
+ */
+
+package mindcubr.github.forge.hammers.command;
@@ -0,0 +1,184 @@
+package mindcubr.github.forge.hammers.event;
+
+import cpw.mods.fml.common.eventhandler.Cancelable;
+import cpw.mods.fml.common.eventhandler.Event;
+import lombok.Getter;
+import mindcubr.github.forge.hammers.area.PackedPositions;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+
+/**
+ * The <b>Hammer Area Break Event</b> is fired once per hammer swing on the
+ * {@link net.minecraftforge.common.MinecraftForge#EVENT_BUS Forge event bus},
+ * instead of a {@link net.minecraftforge.event.world.BlockEvent.BreakEvent} per block.
+ * <p>The positions are {@link PackedPositions packed} into <code>long</code> values,
+ * so a listener can check the whole swing at once, e.g. with a single region lookup
+ * of its {@link #getMinX() bounds}.
+ * <p>The breaking center itself is additionally covered by the usual
+ * {@link net.minecraftforge.event.world.BlockEvent.BreakEvent} of the vanilla breaking.
+ *
+ * @author mindcubr
+ * @see Pre
+ * @see Post
+ * @since 4.0.0-alpha
+ */
+public abstract class HammerAreaBreakEvent extends Event {
+
+    /**
+     * The world the positions are located in.
+     */
+    @Getter
+    private final World world;
+
+    /**
+     * The player swinging the hammer.
+     */
+    @Getter
+    private final EntityPlayer player;
+
+    /**
+     * The swung hammer stack.
+     */
+    @Getter
+    private final ItemStack stack;
+
+    /**
+     * The tridi-coordinates of the breaking center.
+     */
+    @Getter
+    private final int centerX, centerY, centerZ;
+
+    /**
+     * The {@link PackedPositions packed} positions of this event.
+     */
+    private final long[] positions;
+
+    /**
+     * The bounds of the {@link #positions}, inclusive.
+     */
+    @Getter
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+    protected HammerAreaBreakEvent(@Nonnull World world, @Nonnull EntityPlayer player, @Nonnull ItemStack stack,
+                                   int centerX, int centerY, int centerZ, @Nonnull long[] positions) {
+        this.world = Validate.notNull(world);
+        this.player = Validate.notNull(player);
+        this.stack = Validate.notNull(stack);
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.positions = Validate.notNull(positions);
+
+        int minX = centerX, minY = centerY, minZ = centerZ, maxX = centerX, maxY = centerY, maxZ = centerZ;
+        for (long packed : positions) {
+            minX = Math.min(minX, PackedPositions.unpackX(packed));
+            minY = Math.min(minY, PackedPositions.unpackY(packed));
+            minZ = Math.min(minZ, PackedPositions.unpackZ(packed));
+            maxX = Math.max(maxX, PackedPositions.unpackX(packed));
+            maxY = Math.max(maxY, PackedPositions.unpackY(packed));
+            maxZ = Math.max(maxZ, PackedPositions.unpackZ(packed));
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Returns the swung hammer tool.
+     *
+     * @return the tool of the {@link #stack}
+     */
+    @Nonnull
+    public ItemHammerTool getTool() {
+        return (ItemHammerTool) stack.getItem();
+    }
+
+    /**
+     * Returns the amount of positions of this event.
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the {@link PackedPositions packed} position at {@code index}.
+     *
+     * @param index the index of the position
+     * @return the packed position, to be unpacked with {@link PackedPositions#unpackX(long)} and others
+     */
+    public long getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Fired before any block of a hammer swing is broken, with every candidate position.
+     * <p>Cancelling this event cancels the whole swing, whereas single positions
+     * are excluded through {@link #veto(int)}.
+     */
+    @Cancelable
+    public static class Pre extends HammerAreaBreakEvent {
+
+        /**
+         * The indices of the vetoed positions.
+         */
+        private final BitSet vetoed = new BitSet();
+
+        public Pre(@Nonnull World world, @Nonnull EntityPlayer player, @Nonnull ItemStack stack,
+                   int centerX, int centerY, int centerZ, @Nonnull long[] positions) {
+            super(world, player, stack, centerX, centerY, centerZ, positions);
+        }
+
+        /**
+         * Excludes the position at {@code index} from being broken.
+         *
+         * @param index the index of the position
+         */
+        public void veto(int index) {
+            Validate.isTrue(index >= 0 && index < size(), "index out of bounds: %d", index);
+            vetoed.set(index);
+        }
+
+        /**
+         * Returns whether the position at {@code index} is vetoed.
+         *
+         * @param index the index of the position
+         * @return <em>True</em> if the position is excluded
+         */
+        public boolean isVetoed(int index) {
+            return vetoed.get(index);
+        }
+
+        /**
+         * Returns the indices of the vetoed positions.
+         *
+         * @return a copy of the vetoed indices
+         */
+        @Nonnull
+        public BitSet getVetoed() {
+            return (BitSet) vetoed.clone();
+        }
+
+    }
+
+    /**
+     * Fired after a hammer swing is finished, with every position actually broken.
+     */
+    public static class Post extends HammerAreaBreakEvent {
+
+        public Post(@Nonnull World world, @Nonnull EntityPlayer player, @Nonnull ItemStack stack,
+                    int centerX, int centerY, int centerZ, @Nonnull long[] positions) {
+            super(world, player, stack, centerX, centerY, centerZ, positions);
+        }
+
+    }
+
+}
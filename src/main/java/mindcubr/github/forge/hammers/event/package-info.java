@@ -0,0 +1,9 @@
+/**
+ * This package contains the events fired by this modification on the
+ * {@link net.minecraftforge.common.MinecraftForge#EVENT_BUS Forge event bus},
+ * so other modifications are able to observe and restrict hammers.
+ *
+ * @see mindcubr.github.forge.hammers.event.HammerAreaBreakEvent
+ */
+
+package mindcubr.github.forge.hammers.event;
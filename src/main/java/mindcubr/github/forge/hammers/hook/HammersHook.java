@@ -156,10 +156,14 @@ public class HammersHook {
         /**
          * Creates either a new {@link NBTTagCompound} if given {@code stack}
          * does not contain it or the main compound of that {@code stack}.
+         * <p>A newly created compound is set to the {@code stack}, so changes
+         * to the returning compound are never lost.
          *
          * @param stack the item stack possibly containing the wanted compound
-         * @return either a new compound instance, if current is undefined,
-         * or the actual {@code stack} NBT.
+         * @return either a new compound instance attached to the {@code stack},
+         * if current is undefined, or the actual {@code stack} NBT.
+         * @implNote 4.0.0-alpha: the new compound is now attached to the {@code stack},
+         * before it was detached and reallocated on every call.
          * @see NBTTagCompound
          */
         public static NBTTagCompound createAbsent(@Nonnull ItemStack stack) {
@@ -169,7 +173,9 @@ public class HammersHook {
             if (compound != null)
                 return compound;
 
-            return new NBTTagCompound();
+            compound = new NBTTagCompound();
+            stack.setTagCompound(compound);
+            return compound;
         }
 
         /**
@@ -234,10 +240,10 @@ public class HammersHook {
         public static List<String> getLore(ItemStack stack) {
             Validate.notNull(stack);
             List<String> lore = Lists.newArrayList();
-            NBTTagCompound compound = createAbsent(stack);
+            NBTTagCompound compound = stack.getTagCompound();
 
-            //Check for display compound
-            if (!compound.hasKey("display", 10))
+            //Check for display compound, without attaching a new compound
+            if (compound == null || !compound.hasKey("display", 10))
                 return lore;
 
             //Get display compound and check for possible lore
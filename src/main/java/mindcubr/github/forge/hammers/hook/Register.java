@@ -5,52 +5,115 @@ import org.apache.commons.lang3.Validate;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
- * A synchronized data structure, that acts like an non-removable data structure
- * {@link ArrayList} with only defined elements contained and only added when absent.
- * <p>The register provides an {@link ArrayList} as is therefore accessing to
- * {@link java.util.RandomAccess}.
+ * A copy-on-write data structure, that acts like an non-removable
+ * {@link java.util.RandomAccess} list with only defined elements contained and
+ * only added when absent.
+ * <p>The registered elements are published as an immutable snapshot, consisting
+ * of the element array and a hash index of it. Every registration
+ * copies and republishes the snapshot, while every read operation only reads
+ * the current snapshot without any lock, so membership checks are of <code>O(1)</code>
+ * and iterations and streams are never corrupted by concurrent registrations.
+ * <p>Elements are compared by {@link Object#equals(Object)}, as by the former list,
+ * so their hash codes have to be consistent with it.
+ * Once the registrations are finished, the register is {@link #freeze() frozen}.
  *
  * @author mindcubr
  * @since 1.0.0-0.1
  */
 public class Register<E> {
 
-    @Nonnull
-    private final ArrayList<E> list;
+    /**
+     * The published snapshot of the registered elements.
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Whether this register rejects any further registration.
+     */
+    private volatile boolean frozen;
+
+    /**
+     * The lock every registration is synchronized with.
+     */
+    private final Object lock = new Object();
 
     protected Register(@Nonnull ArrayList<E> list) {
-        this.list = list;
+        //The overrideable registration is not invoked before the subclass is constructed
+        synchronized (lock) {
+            for (E element : list) {
+                append(Validate.notNull(element));
+            }
+        }
     }
 
     /**
      * Registers the input {@code element} if it is not already
      * registered and returns whether the insertion of the {@code element}
      * happened.
-     * <p>If the {@code element} is undefined, <em>False</em> is returned.
-     * No side effects occur.
-     * <p>This operation is synchronized with the register itself.
+     * <p>This operation is synchronized with every other registration,
+     * but never with any reading operation.
      *
      * @param element the element
+     * @throws IllegalStateException if this register is {@link #freeze() frozen}
      */
     public boolean register(@Nonnull E element) {
         Validate.notNull(element);
-        if (isRegistered(element))
+        synchronized (lock) {
+            Validate.validState(!frozen, "register is frozen");
+            return append(element);
+        }
+    }
+
+    /**
+     * Publishes a copy of the snapshot with the {@code element} appended,
+     * if it is absent. The caller has to hold the {@link #lock}.
+     */
+    private boolean append(E element) {
+        Snapshot current = snapshot;
+        if (current.contains(element))
             return false;
 
-        synchronized (list) {
-            return list.add(element);
+        //Publish a copy with the element appended
+        Object[] elements = Arrays.copyOf(current.elements, current.elements.length + 1);
+        elements[current.elements.length] = element;
+        snapshot = new Snapshot(elements);
+        return true;
+    }
+
+    /**
+     * Freezes this register, so every further {@link #register(Object) registration}
+     * is rejected. This is done once the <b>Forge Mod Loader</b> initialization finished.
+     *
+     * @since 4.0.0-alpha
+     */
+    public void freeze() {
+        synchronized (lock) {
+            frozen = true;
         }
     }
 
+    /**
+     * Returns whether this register is {@link #freeze() frozen}.
+     *
+     * @return whether every further registration is rejected
+     * @since 4.0.0-alpha
+     */
+    public final boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Returns whether the input {@code element} is already registered.
      * <p>If the {@code element} is undefined, <em>False</em> is returned.
      * No side effects occur.
-     * <p>This operation is synchronized with the register itself.
+     * <p>The time complexity for this invocation is equal to <code>O(1)</code>.
      *
      * @param element the element to check for within the register
      * @return whether the {@code element} is contained in this register.
@@ -58,12 +121,7 @@ public class Register<E> {
      */
     public final boolean isRegistered(E element) {
         //Don't pass illegal arguments
-        if (element == null)
-            return false;
-
-        synchronized (list) {
-            return list.contains(element);
-        }
+        return element != null && snapshot.contains(element);
     }
 
     /**
@@ -72,7 +130,7 @@ public class Register<E> {
      * @return the length of registrations of elements
      */
     public final int size() {
-        return list.size();
+        return snapshot.elements.length;
     }
 
     /**
@@ -87,49 +145,46 @@ public class Register<E> {
      * in relation to this {@link #size()}.
      * @see #size()
      */
+    @SuppressWarnings("unchecked")
     public E get(int index) {
-        synchronized (list) {
-            Validate.validIndex(list, index);
-            return list.get(index);
-        }
+        Object[] elements = snapshot.elements;
+        Validate.validIndex(elements, index);
+        return (E) elements[index];
     }
 
     /**
-     * Returns this <em>mutable</em> {@link #list register list}, that possibly
-     * contains already registered {@link #register(Object) elements}.
+     * Returns an <em>immutable</em> list of the currently registered
+     * {@link #register(Object) elements}.
+     * <p>The list is not affected by any later registration.
      *
-     * @return the <em>mutable</em> list of past registrations.
-     * @apiNote Be careful with this method, as it might can corrupt
-     * when using at multiple thread levels!
+     * @return the <em>immutable</em> list of past registrations.
      * @see #register(Object)
      */
     @Nonnull
-    public synchronized ArrayList<E> getRegistered() {
-        return list;
+    @SuppressWarnings("unchecked")
+    public List<E> getRegistered() {
+        return Collections.unmodifiableList((List<E>) Arrays.asList(snapshot.elements));
     }
 
     /**
-     * Returns the parallel stream of this register.
+     * Returns the sequential stream of the currently registered elements.
      *
-     * @return the parallel stream.
+     * @return the sequential stream.
      */
+    @SuppressWarnings("unchecked")
     public Stream<E> stream() {
-        synchronized (list) {
-            return list.parallelStream();
-        }
+        return (Stream<E>) Arrays.stream(snapshot.elements);
     }
 
     /**
-     * Returns a mutable iterator instance of this register.
+     * Returns an immutable iterator instance of the currently registered elements.
      *
      * @return a new iterator instance of this register.
      * @see Iterator
      */
     @Nonnull
     public Iterator<E> iterator() {
-        synchronized (list) {
-            return list.iterator();
-        }
+        return getRegistered().iterator();
     }
 
     /**
@@ -143,8 +198,8 @@ public class Register<E> {
     }
 
     /**
-     * Creates an {@link Register} instance with given {@code list}
-     * as constructive argument.
+     * Creates an {@link Register} instance with the elements of the
+     * given {@code list} registered initially.
      *
      * @param <T> the type of the register and therefore its elements
      * @return the new register instance.
@@ -154,4 +209,46 @@ public class Register<E> {
         return new Register<>(list);
     }
 
+    /**
+     * The immutable elements of a register, together with a hash index
+     * of them, using open addressing with linear probing.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new Object[0]);
+
+        final Object[] elements;
+
+        /**
+         * The index, with a power of two length of at least twice the elements.
+         */
+        final Object[] index;
+
+        Snapshot(Object[] elements) {
+            this.elements = elements;
+            this.index = new Object[Integer.highestOneBit(Math.max(elements.length, 1) * 2) << 1];
+            for (Object element : elements) {
+                int slot = slot(element);
+                while (index[slot] != null) {
+                    slot = (slot + 1) & (index.length - 1);
+                }
+                index[slot] = element;
+            }
+        }
+
+        boolean contains(Object element) {
+            for (int slot = slot(element); index[slot] != null; slot = (slot + 1) & (index.length - 1)) {
+                if (index[slot].equals(element))
+                    return true;
+            }
+            return false;
+        }
+
+        private int slot(Object element) {
+            int hash = element.hashCode();
+            return (hash ^ (hash >>> 16)) & (index.length - 1);
+        }
+
+    }
+
 }
@@ -3,14 +3,31 @@ package mindcubr.github.forge.hammers.item;
 import cpw.mods.fml.common.registry.GameRegistry;
 import lombok.Getter;
 import mindcubr.github.forge.hammers.HammerElement;
+import mindcubr.github.forge.hammers.HammersConfig;
 import mindcubr.github.forge.hammers.HammersMod;
 import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.area.BreakabilityTable;
+import mindcubr.github.forge.hammers.area.DropBuffer;
+import mindcubr.github.forge.hammers.area.DropCache;
+import mindcubr.github.forge.hammers.area.FloodFill;
+import mindcubr.github.forge.hammers.area.HammerSwing;
+import mindcubr.github.forge.hammers.area.HammerWatchdog;
+import mindcubr.github.forge.hammers.area.PackedPositions;
+import mindcubr.github.forge.hammers.area.RegionSnapshot;
+import mindcubr.github.forge.hammers.area.SwingDurability;
+import mindcubr.github.forge.hammers.area.SwingPlanner;
+import mindcubr.github.forge.hammers.area.shape.CompiledShape;
+import mindcubr.github.forge.hammers.area.shape.HammerShape;
+import mindcubr.github.forge.hammers.area.shape.ShapeTable;
 import mindcubr.github.forge.hammers.hook.HammersHook;
+import mindcubr.github.forge.hammers.journal.BreakJournal;
 import mindcubr.github.forge.hammers.register.HammerBlocks;
 import mindcubr.github.forge.hammers.register.HammerItems;
+import mindcubr.github.forge.hammers.unbreaking.BlockUnbreakingOre;
 import net.minecraft.block.Block;
-import net.minecraft.enchantment.Enchantment;
-import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.block.BlockOre;
+import net.minecraft.block.BlockRedstoneOre;
+import net.minecraft.block.material.Material;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
@@ -22,7 +39,10 @@ import net.minecraft.item.ItemPickaxe;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.MovingObjectPosition;
 import net.minecraft.world.World;
+import net.minecraftforge.oredict.OreDictionary;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
@@ -62,6 +82,20 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
      */
     protected static double damageGrowRate = 2;
 
+    /**
+     * The key of the usages within the stacks compound.
+     *
+     * @see mindcubr.github.forge.hammers.area.SwingDurability
+     */
+    public static final String USAGES_KEY = "usages";
+
+    /**
+     * The key of the selected shape within the stacks compound.
+     *
+     * @see #getShape(ItemStack)
+     */
+    public static final String SHAPE_KEY = "shape";
+
     /**
      * The damage curvature.
      */
@@ -85,6 +119,32 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
      */
     private final int radial;
 
+    /**
+     * The compiled shapes of this {@link #radial} length.
+     *
+     * @since 4.0.0-alpha
+     */
+    @Getter
+    private final ShapeTable shapes;
+
+    /**
+     * The cached breakability of every block state for this tool, of the server thread.
+     *
+     * @since 4.0.0-alpha
+     */
+    @Getter
+    private final BreakabilityTable breakability = new BreakabilityTable(this);
+
+    /**
+     * The cached breakability of every block state for this tool, of the client thread,
+     * so the client never writes the table of an integrated server.
+     */
+    private final BreakabilityTable clientBreakability = new BreakabilityTable(this);
+
+    /**
+     * The flood fill searching ore veins, reused by every swing of the main thread.
+     */
+    private static final FloodFill VEIN = new FloodFill(true);
 
     public ItemHammerTool(@Nonnull ItemHammerLevel level, @Nonnull ToolMaterial material) {
         super(Validate.notNull(material));
@@ -92,6 +152,7 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
         this.boundary = level;
         this.radial = getRadial();              //Changes to value at RT won't apply anymore
         this.cubes = radial * radial * radial;  //Calculation of the cubes involved
+        this.shapes = ShapeTable.forRadial(radial);
 
         //Calculate the maximum damage of this item
         setMaxDamage(calcDamage(this.radial));
@@ -161,8 +222,12 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
         if (stack == null)
             return state;
 
-        //Get world and check for remote XOR state
+        //Get world and let the client predict the swing, until the server confirms it
         final World world = player.worldObj;
+        if (world.isRemote && !state && isBreakable(world, breakX, breakY, breakZ))
+            HammersMod.proxy.predictSwing(this, stack, player, breakX, breakY, breakZ);
+
+        //Check for remote XOR state
         if (world.isRemote ^ state)
             return state;
 
@@ -170,115 +235,254 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
         if (!isBreakable(world, breakX, breakY, breakZ))
             return state;
 
-        //Increase NBT usage amount of the stack
-        int usages = usagesIncr(stack);
+        //The watchdog only lets the vanilla breaking break the center, while the server is lagging heavily
+        final HammerWatchdog watchdog = HammerWatchdog.SINGLETON;
+        if (watchdog.isDegraded(HammerWatchdog.Level.CENTER_ONLY)) {
+            breakCenter(stack, world, player, breakX, breakY, breakZ);
+            return state;
+        }
 
-        //Determines the radius, off the radial length
-        final int radius = getRadial() / 2;
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    //Redefine the coordinates related to the iteration
-                    int xPos = breakX + x, yPos = breakY + y, zPos = breakZ + z;
+        //The vein is flood-filled instead of compiled
+        final HammerShape selected = getShape(stack);
+        if (selected == HammerShape.VEIN) {
+            mineVein(stack, world, player, breakX, breakY, breakZ);
+            return state;
+        }
 
-                    //Check if the block is unbreakable
-                    if (!isBreakable(world, xPos, yPos, zPos))
-                        continue;
+        //Get the shape oriented to the hit side, of a smaller radial while lagging
+        final int face = getHitFace(world, player, breakX, breakY, breakZ);
+        final CompiledShape shape = getShapes(watchdog.getLevel()).get(selected, face);
 
-                    //Destroy block and damage the item, if possible
-                    if (world.func_147480_a(xPos, yPos, zPos, true /*drop*/)) {
-                        if (!stack.isItemStackDamageable())
-                            continue;
+        //Capture the region once, so chunks are not looked up for every cell
+        RegionSnapshot region = RegionSnapshot.capture(world,
+                breakX + shape.getMinX(), breakY + shape.getMinY(), breakZ + shape.getMinZ(),
+                breakX + shape.getMaxX(), breakY + shape.getMaxY(), breakZ + shape.getMaxZ());
 
-                        //Damage item, that returns, whether to reset the usages
-                        if (damageItem(stack, 1, player)) {
-                            usagesReset(stack);
-                        }
-                    }
-                }
-            }
-        }
+        //Plan the breakable cells of the shape, the planner hands the swing to the scheduler
+        HammerSwing swing = new HammerSwing(this, stack, player, world,
+                breakX, breakY, breakZ, shape.size());
+        SwingPlanner.SINGLETON.plan(swing, region, shape);
 
         return state;
     }
 
     /**
-     * Damages the input {@code stack} based on certain conditions and
-     * values with the amount of input {@code damage} and resets
-     * the usage if required.
-     * <p>If the {@code stack} is enchanted this method is enhanced
-     * in <code>2.0.0</code> to check for <em>unbreaking</em> enchantment
-     * and its level. The enhanced method includes a usage count to alter
-     * when to damage the item and even <em>if</em>.
+     * Bills the center at {@code x}, {@code y} and {@code z}, that is broken by the
+     * vanilla breaking alone, to the {@code stack} and records it into the {@link BreakJournal}.
+     * <p>This is used instead of a swing, while the {@link HammerWatchdog} only lets the
+     * center be broken, so the durability and the journal keep working without queuing anything.
      *
-     * @param stack the stack passed, not {@code null}
-     * @return whether the damage was completed. This is mostly used
-     * in relation to check whether to reset the usages of the input
-     * {@code stack}.
+     * @param stack  the swung hammer stack
+     * @param world  the world, where the center is located in
+     * @param player the player breaking the center
+     * @param x      the <em>tridi-</em>coordinate x, the horizontal position of the center
+     * @param y      the <em>tridi-</em>-coordinate y, the vertical position of the center
+     * @param z      the <em>tridi-</em>-coordinate z, the depth of the centers position
+     * @since 4.0.0-alpha
      */
-    public boolean damageItem(ItemStack stack, int damage, EntityLivingBase holder) {
-        //Validate and check for no damage possibility
-        Validate.notNull(stack);
-        if (!stack.isItemStackDamageable())
-            return false;
+    protected void breakCenter(@Nonnull ItemStack stack, @Nonnull World world,
+                               @Nonnull EntityPlayer player, int x, int y, int z) {
+        SwingDurability durability = new SwingDurability(stack);
+        durability.account();
+        durability.commit(player);
+
+        BreakJournal journal = BreakJournal.SINGLETON;
+        if (journal.isOpen())
+            journal.record(journal.nextSwingId(), player, world, x, y, z,
+                    world.getBlock(x, y, z), world.getBlockMetadata(x, y, z));
+    }
 
-        //Check if item is enchanted
-        if (stack.isItemEnchanted()) {
-            int ubId = Enchantment.unbreaking.effectId;
-            int level;
-            if ((level = EnchantmentHelper
-                    .getEnchantmentLevel(ubId, stack)) != 0) {
-                final int usages = usagesGet(stack);
-                final int alive = 2 * level; //Unbreaking I: every 2nd, II: 4th, III: 6th, ...
-                if (usages < alive)
-                    return false;
-            }
+    /**
+     * Breaks the ore vein connected to the block at {@code x}, {@code y} and {@code z},
+     * up to {@link HammersConfig#veinLimit} blocks of the same block and metadata, a quarter
+     * of it while the {@link HammerWatchdog} reduces the swings.
+     * <p>The block itself is always broken by the vanilla breaking, including its drops
+     * and experience, so the swing only contains the rest of the vein. If the block is no
+     * ore, nothing else is broken. The vein is submitted as a single swing, so it is admitted by the
+     * {@link mindcubr.github.forge.hammers.area.HammerScheduler} like any other swing.
+     *
+     * @param stack  the swung hammer stack
+     * @param world  the world, where the target block is located in
+     * @param player the player breaking the block
+     * @param x      the <em>tridi-</em>coordinate x, the horizontal position of the block
+     * @param y      the <em>tridi-</em>-coordinate y, the vertical position of the block
+     * @param z      the <em>tridi-</em>-coordinate z, the depth of the blocks position
+     * @since 4.0.0-alpha
+     */
+    protected void mineVein(@Nonnull ItemStack stack, @Nonnull World world,
+                            @Nonnull EntityPlayer player, int x, int y, int z) {
+        final Block block = world.getBlock(x, y, z);
+        final int metadata = world.getBlockMetadata(x, y, z);
+        if (!isOre(block, metadata))
+            return;
+
+        int limit = HammersConfig.veinLimit;
+        if (HammerWatchdog.SINGLETON.isDegraded(HammerWatchdog.Level.REDUCED))
+            limit = Math.max(limit >> 2, 1);
+        int length = VEIN.fill(world, x, y, z, limit, (cx, cy, cz) ->
+                world.getBlock(cx, cy, cz) == block && world.getBlockMetadata(cx, cy, cz) == metadata);
+        HammerSwing swing = new HammerSwing(this, stack, player, world, x, y, z, length - 1);
+        final int state = Block.getIdFromBlock(block) << 4 | metadata;
+
+        //The first cell is the center, which is broken by the vanilla breaking right afterwards
+        swing.getDurability().account();
+        for (int i = 1; i < length; i++) {
+            long cell = VEIN.get(i);
+            swing.add(PackedPositions.unpackX(cell), PackedPositions.unpackY(cell),
+                    PackedPositions.unpackZ(cell), state);
         }
+        SwingPlanner.SINGLETON.submit(swing);
+    }
 
-        //Damage the item, if possible
-        stack.damageItem(damage, holder);
-        return true;
+    /**
+     * Returns whether the {@code block} with the {@code metadata} is an ore,
+     * so either a vanilla ore, the unbreaking ore or an ore of the ore dictionary.
+     *
+     * @param block    the block to check
+     * @param metadata the metadata of the block
+     * @return <em>True</em> if the block is an ore
+     * @since 4.0.0-alpha
+     */
+    public static boolean isOre(@Nonnull Block block, int metadata) {
+        if (block instanceof BlockOre || block instanceof BlockRedstoneOre || block instanceof BlockUnbreakingOre)
+            return true;
+
+        Item item = Item.getItemFromBlock(block);
+        if (item == null)
+            return false;
+        for (int id : OreDictionary.getOreIDs(new ItemStack(item, 1, metadata))) {
+            if (OreDictionary.getOreName(id).startsWith("ore"))
+                return true;
+        }
+        return false;
     }
 
     /**
-     * Returns the amount of usages the {@code stack} has.
+     * Returns whether this hammer is able to mine in {@link HammerShape#VEIN vein} mode,
+     * which is reserved to hammers of the unbreaking material.
      *
-     * @param stack the item stack containing the possible compound
-     * @return the usages the stack has, if no one is set, zero is returned.
+     * @return <em>True</em> if the vein shape is selectable
+     * @since 4.0.0-alpha
      */
-    protected final int usagesGet(@Nonnull ItemStack stack) {
-        Validate.notNull(stack);
-        NBTTagCompound compound = HammersHook.ItemHook.createAbsent(stack);
-        if (compound.hasKey("usages"))
-            return compound.getInteger("usages");
+    public boolean isVeinCapable() {
+        return getToolMaterial() == HammerItems.UNBREAKING_MATERIAL;
+    }
 
-        //Return zero, as no compound is set or not contained
-        return 0;
+    /**
+     * Returns the side of the block at {@code x}, {@code y} and {@code z}
+     * the {@code player} is looking at.
+     * <p>If the player is not looking at that block, the top side is returned.
+     *
+     * @param world  the world, where the target block is located in
+     * @param player the player breaking the block
+     * @param x      the <em>tridi-</em>coordinate x, the horizontal position of the block
+     * @param y      the <em>tridi-</em>-coordinate y, the vertical position of the block
+     * @param z      the <em>tridi-</em>-coordinate z, the depth of the blocks position
+     * @return the hit side, as of {@link MovingObjectPosition#sideHit}
+     * @since 4.0.0-alpha
+     */
+    public int getHitFace(@Nonnull World world, @Nonnull EntityPlayer player, int x, int y, int z) {
+        MovingObjectPosition hit = getMovingObjectPositionFromPlayer(world, player, false);
+        if (hit == null || hit.typeOfHit != MovingObjectPosition.MovingObjectType.BLOCK
+                || hit.blockX != x || hit.blockY != y || hit.blockZ != z)
+            return 1;
+        return hit.sideHit;
     }
 
     /**
-     * Increases the amount of usages of the {@code stack}.
+     * Returns the shape selected for the {@code stack}.
+     * <p>If no shape is selected, the {@link HammersConfig#defaultShape} is returned.
      *
-     * @param stack the item stack containing the possible compound
-     * @return the new usages amount of the {@code stack}
+     * @param stack the stack containing the possible selection
+     * @return the selected shape
+     * @since 4.0.0-alpha
      */
-    protected final int usagesIncr(@Nonnull ItemStack stack) {
+    @Nonnull
+    public HammerShape getShape(@Nonnull ItemStack stack) {
         Validate.notNull(stack);
-        NBTTagCompound compound = HammersHook.ItemHook.createAbsent(stack);
-        int usages = usagesGet(stack);
-        compound.setInteger("usages", ++usages);
-        return usages;
+        NBTTagCompound compound = stack.getTagCompound();
+        HammerShape shape = compound == null || !compound.hasKey(SHAPE_KEY)
+                ? HammersConfig.defaultShape
+                : HammerShape.byName(compound.getString(SHAPE_KEY), HammersConfig.defaultShape);
+        return shape == HammerShape.VEIN && !isVeinCapable() ? HammerShape.CUBE : shape;
     }
 
     /**
-     * Resets the amount of usages of the {@code stack}.
+     * Selects the {@code shape} for the {@code stack}.
      *
-     * @param stack the item stack containing the possible compound
+     * @param stack the stack to select the shape for
+     * @param shape the shape to be selected
+     * @since 4.0.0-alpha
      */
-    protected final void usagesReset(@Nonnull ItemStack stack) {
+    public void setShape(@Nonnull ItemStack stack, @Nonnull HammerShape shape) {
         Validate.notNull(stack);
-        NBTTagCompound compound = HammersHook.ItemHook.createAbsent(stack);
-        compound.setInteger("usages", 0);
+        Validate.notNull(shape);
+        HammersHook.ItemHook.createAbsent(stack).setString(SHAPE_KEY, shape.name());
+    }
+
+    /**
+     * Cycles through the {@link HammerShape shapes} of the {@code stack},
+     * when the {@code player} is sneaking.
+     */
+    @Override
+    public ItemStack onItemRightClick(ItemStack stack, World world, EntityPlayer player) {
+        if (!player.isSneaking() || world.isRemote)
+            return stack;
+
+        HammerShape shape = getShape(stack).next();
+        if (shape == HammerShape.VEIN && !isVeinCapable())
+            shape = shape.next();
+        setShape(stack, shape);
+        player.addChatComponentMessage(new ChatComponentText("\u00a79Shape: \u00a77" + shape.getDisplayName()));
+        return stack;
+    }
+
+    /**
+     * Breaks the block at {@code x}, {@code y} and {@code z} as part of the
+     * {@code swing} and accounts the damage to the {@link HammerSwing#getDurability() swings durability}.
+     * <p>The drops and experience of the block are not spawned, but collected after
+     * its removal succeeded into the {@link HammerSwing#getDrops() drop buffer} of the {@code swing},
+     * respecting the fortune and silk touch enchantment of the swings stack.
+     * The experience of the breaking center is excluded, as it is already dropped
+     * by the vanilla breaking of the center block.
+     * <p>The block is removed through the {@link HammerSwing#getRemoval() swings removal},
+     * so its neighbors are notified when the swing is flushed, and recorded into the
+     * {@link BreakJournal}, if open.
+     *
+     * @param swing the swing the breaking is part of
+     * @param x     the <em>tridi-</em>coordinate x, the horizontal position of the block
+     * @param y     the <em>tridi-</em>-coordinate y, the vertical position of the block
+     * @param z     the <em>tridi-</em>-coordinate z, the depth of the blocks position
+     * @return whether the block was broken
+     * @see HammerSwing
+     * @since 4.0.0-alpha
+     */
+    public boolean harvestCell(@Nonnull HammerSwing swing, int x, int y, int z) {
+        final World world = swing.getWorld();
+        final EntityPlayer player = swing.getPlayer();
+        if (!world.blockExists(x, y, z))
+            return false; //Never load the chunk of the cell
+        Block block = world.getBlock(x, y, z);
+        if (block.getMaterial() == Material.air)
+            return false;
+
+        //Remove block without drop, the drops are only collected if it is gone, as vanilla does
+        final int metadata = world.getBlockMetadata(x, y, z);
+        final boolean silk = swing.isSilkTouch() && block.canSilkHarvest(world, player, x, y, z, metadata);
+        if (!swing.getRemoval().remove(x, y, z, block, metadata))
+            return false;
+        final int fortune = silk ? 0 : swing.getFortune();
+        DropBuffer drops = swing.getDrops();
+        DropCache.SINGLETON.collect(drops, world, player, block, x, y, z, metadata, fortune, silk);
+        if (!silk && !swing.isCenter(x, y, z))
+            drops.addExperience(block.getExpDrop(world, metadata, fortune));
+
+        //Account the damage of the swing
+        swing.getDurability().account();
+        BreakJournal journal = BreakJournal.SINGLETON;
+        if (journal.isOpen())
+            journal.record(swing.getJournalId(), player, world, x, y, z, block, metadata);
+        return true;
     }
 
     /**
@@ -293,10 +497,106 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
      * otherwise.
      */
     public final boolean isBreakable(World world, int x, int y, int z) {
-        //Get block and undefine check
-        Block block = world.getBlock(x, y, z);
+        return isBreakable(world, x, y, z, world.getBlock(x, y, z));
+    }
+
+    /**
+     * Returns whether the {@code block}, that is located within the {@code world}
+     * at {@code x}, {@code y} and {@code z} coordinate, is breakable for the hammer or not.
+     * <p>This is equivalent to {@link #isBreakable(World, int, int, int)}, but
+     * does not look up the block from the {@code world}, as it is already known,
+     * e.g. out of a {@link RegionSnapshot}.
+     *
+     * @param world the world, where the target block is located in
+     * @param x     the <em>tridi-</em>coordinate x, the horizontal position of the block
+     * @param y     the <em>tridi-</em>-coordinate y, the vertical position of the block
+     * @param z     the <em>tridi-</em>-coordinate z, the depth of the blocks position
+     * @param block the block located at the given coordinates
+     * @return <em>True</em> if the measured block is really breakable, and <em>False</em>
+     * otherwise.
+     * @since 4.0.0-alpha
+     */
+    public final boolean isBreakable(World world, int x, int y, int z, Block block) {
         if (block == null)
             return false;
+        return isBreakable(world, x, y, z, Block.getIdFromBlock(block), world.getBlockMetadata(x, y, z));
+    }
+
+    /**
+     * Returns whether the block state with {@code blockId} and {@code metadata}, that is
+     * located within the {@code world} at {@code x}, {@code y} and {@code z} coordinate,
+     * is breakable for the hammer or not.
+     * <p>The breakability of every block state is cached within a {@link BreakabilityTable}
+     * of the side of the {@code world}, so this only takes the slow path of {@link #isBreakableUncached} once per state,
+     * except for blocks whose hardness depends on their position.
+     *
+     * @param world    the world, where the target block is located in
+     * @param x        the <em>tridi-</em>coordinate x, the horizontal position of the block
+     * @param y        the <em>tridi-</em>-coordinate y, the vertical position of the block
+     * @param z        the <em>tridi-</em>-coordinate z, the depth of the blocks position
+     * @param blockId  the id of the block located at the given coordinates
+     * @param metadata the metadata of the block located at the given coordinates
+     * @return <em>True</em> if the measured block is really breakable, and <em>False</em>
+     * otherwise.
+     * @since 4.0.0-alpha
+     */
+    public final boolean isBreakable(World world, int x, int y, int z, int blockId, int metadata) {
+        return getBreakability(world).isBreakable(world, x, y, z, blockId, metadata);
+    }
+
+    /**
+     * Returns the {@link BreakabilityTable} of the thread owning the {@code world},
+     * so either the {@link #breakability} of the server or the one of the client.
+     *
+     * @param world the world, whose side is looked up
+     * @return the breakability table of the side of the {@code world}
+     * @since 4.0.0-alpha
+     */
+    @Nonnull
+    public BreakabilityTable getBreakability(@Nonnull World world) {
+        return world.isRemote ? clientBreakability : breakability;
+    }
+
+    /**
+     * Returns the compiled shapes of the swings at the degradation {@code level},
+     * so either the {@link #shapes} or the ones of a smaller radial while lagging.
+     *
+     * @param level the degradation level of the server
+     * @return the shape table of the swings at the {@code level}
+     * @since 4.0.0-alpha
+     */
+    @Nonnull
+    public ShapeTable getShapes(@Nonnull HammerWatchdog.Level level) {
+        return level.compareTo(HammerWatchdog.Level.REDUCED) >= 0
+                ? ShapeTable.forRadial(Math.max(radial - 2, 1)) : shapes;
+    }
+
+    /**
+     * Returns whether the {@code block} with {@code metadata} is breakable for
+     * the hammer, without consulting the {@link BreakabilityTable}.
+     * <p>Blocks listed in {@link HammersConfig#breakableExclude} are never breakable,
+     * whereas blocks listed in {@link HammersConfig#breakableInclude} are breakable,
+     * even if they are not a normal cube.
+     *
+     * @param world    the world, where the target block is located in
+     * @param x        the <em>tridi-</em>coordinate x, the horizontal position of the block
+     * @param y        the <em>tridi-</em>-coordinate y, the vertical position of the block
+     * @param z        the <em>tridi-</em>-coordinate z, the depth of the blocks position
+     * @param block    the block located at the given coordinates
+     * @param metadata the metadata of the block
+     * @return <em>True</em> if the measured block is really breakable, and <em>False</em>
+     * otherwise.
+     * @since 4.0.0-alpha
+     */
+    public boolean isBreakableUncached(World world, int x, int y, int z, Block block, int metadata) {
+        //Undefine check
+        if (block == null || block.getMaterial() == Material.air)
+            return false;
+
+        //Check for the configured exclusion
+        final int blockId = Block.getIdFromBlock(block);
+        if (BreakabilityTable.isExcluded(blockId, metadata))
+            return false;
 
         //Check for compatibility via minecraft methods
         if (!func_150897_b(block))
@@ -312,8 +612,8 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
                 && this.toolMaterial != HammerItems.UNBREAKING_MATERIAL)
             return false;
 
-        //Check if block is just a normal cube or not
-        return block.isNormalCube();
+        //Check if block is just a normal cube or configured to be breakable
+        return BreakabilityTable.isIncluded(blockId, metadata) || block.isNormalCube();
     }
 
     @Override
@@ -441,6 +741,7 @@ public class ItemHammerTool extends ItemPickaxe implements HammerElement {
             int thisLevel = tool.getLevel();
             desc.add("\u00a7aLevel " + HammersHook.levelToString(tool.getLevel()));
             desc.add("\u00a79" + tool.getRadial() + " cubic meter");
+            desc.add("\u00a79Shape: \u00a77" + tool.getShape(stack).getDisplayName());
             desc.add("\u00a79Blocks Left: \u00a77" + (blocksLeft < 0 ? "Infinite" : blocksLeft));
 
             /* Check if current item is displayed as result within a crafting bench */
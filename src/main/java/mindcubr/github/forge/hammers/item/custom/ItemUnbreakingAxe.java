@@ -4,11 +4,17 @@ import cpw.mods.fml.common.registry.GameRegistry;
 import mindcubr.github.forge.hammers.HammerElement;
 import mindcubr.github.forge.hammers.HammersMod;
 import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.area.TreeFelling;
 import mindcubr.github.forge.hammers.hook.HammersHook;
 import mindcubr.github.forge.hammers.register.HammerItems;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemAxe;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.world.World;
+import org.apache.commons.lang3.Validate;
 
 import javax.annotation.Nonnull;
 
@@ -21,6 +27,14 @@ import javax.annotation.Nonnull;
  */
 public class ItemUnbreakingAxe extends ItemAxe implements HammerElement {
 
+    /**
+     * The key of the felling mode within the stacks compound.
+     *
+     * @see #isFelling(ItemStack)
+     * @since 4.0.0-alpha
+     */
+    public static final String FELLING_KEY = "felling";
+
     public ItemUnbreakingAxe() {
         super(HammerItems.UNBREAKING_MATERIAL);
         String branch = "unbreaking_axe";
@@ -65,6 +79,63 @@ public class ItemUnbreakingAxe extends ItemAxe implements HammerElement {
         return stack != null;
     }
 
+    /**
+     * Fells the whole tree of the broken log, if the felling mode of the {@code stack} is enabled.
+     *
+     * @see TreeFelling
+     * @since 4.0.0-alpha
+     */
+    @Override
+    public boolean onBlockStartBreak(ItemStack stack, int x, int y, int z, EntityPlayer player) {
+        boolean state = super.onBlockStartBreak(stack, x, y, z, player);
+        if (state || stack == null || player.worldObj.isRemote || !isFelling(stack))
+            return state;
+
+        TreeFelling.SINGLETON.fell(stack, player.worldObj, player, x, y, z);
+        return false;
+    }
+
+    /**
+     * Toggles the felling mode of the {@code stack}, when the {@code player} is sneaking.
+     *
+     * @since 4.0.0-alpha
+     */
+    @Override
+    public ItemStack onItemRightClick(ItemStack stack, World world, EntityPlayer player) {
+        if (!player.isSneaking() || world.isRemote)
+            return stack;
+
+        boolean felling = !isFelling(stack);
+        setFelling(stack, felling);
+        player.addChatComponentMessage(new ChatComponentText("\u00a79Felling: \u00a77" + (felling ? "On" : "Off")));
+        return stack;
+    }
+
+    /**
+     * Returns whether the felling mode is enabled for the {@code stack}.
+     *
+     * @param stack the stack containing the mode
+     * @return <em>True</em> if whole trees are felled
+     * @since 4.0.0-alpha
+     */
+    public boolean isFelling(@Nonnull ItemStack stack) {
+        Validate.notNull(stack);
+        NBTTagCompound compound = stack.getTagCompound();
+        return compound != null && compound.getBoolean(FELLING_KEY);
+    }
+
+    /**
+     * Enables or disables the felling mode for the {@code stack}.
+     *
+     * @param stack   the stack to set the mode for
+     * @param felling whether whole trees are felled
+     * @since 4.0.0-alpha
+     */
+    public void setFelling(@Nonnull ItemStack stack, boolean felling) {
+        Validate.notNull(stack);
+        HammersHook.ItemHook.createAbsent(stack).setBoolean(FELLING_KEY, felling);
+    }
+
     @Nonnull
     @Override
     public String getUnlocalized() {
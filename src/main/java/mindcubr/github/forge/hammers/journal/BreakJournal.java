@@ -0,0 +1,359 @@
+package mindcubr.github.forge.hammers.journal;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.area.PackedPositions;
+import net.minecraft.block.Block;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraftforge.common.DimensionManager;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * The <b>Break Journal</b> records every block broken by a hammer swing,
+ * so swings can be audited and {@link #rollback(UUID, int) rolled back}.
+ * <p>Every broken block is written as a fixed-width record of {@link #RECORD_SIZE}
+ * bytes into a direct buffer outside of the heap, so journaling does not
+ * allocate any object per block. The buffer is appended to the journal file
+ * through a {@link FileChannel}, once it is full and every {@link #FLUSH_INTERVAL} ticks.
+ * <p>A record consists of, in this order:
+ * <ul>
+ *     <li>the swing id, unique within the journal file</li>
+ *     <li>the {@link PackedPositions packed} position</li>
+ *     <li>the total world time</li>
+ *     <li>the unique id of the player, most and least significant bits</li>
+ *     <li>the dimension id</li>
+ *     <li>the block id shifted by four bits plus the metadata</li>
+ * </ul>
+ * <p>The journal is only used by the main thread and has to be registered to the FML event bus.
+ *
+ * @author mindcubr
+ * @see HammersConfig#journal
+ * @since 4.0.0-alpha
+ */
+public class BreakJournal {
+
+    private static final Logger LOGGER = LogManager.getLogger(Reference.MOD_ID);
+
+    /**
+     * The main instance of this journal.
+     */
+    public static final BreakJournal SINGLETON = new BreakJournal();
+
+    /**
+     * The size of a single record in bytes.
+     */
+    public static final int RECORD_SIZE = 48;
+
+    /**
+     * The amount of server ticks between two flushes.
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
+    /**
+     * The amount of records read at once, when reading the journal backwards.
+     */
+    private static final int READ_RECORDS = 1024;
+
+    /**
+     * The selections of a {@link Selector}.
+     */
+    private static final int SKIP = 0, RESTORE = 1, STOP = 2;
+
+    /**
+     * The records not flushed yet, outside of the heap.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The channel of the journal file, null if the journal is closed.
+     */
+    private FileChannel channel;
+
+    /**
+     * The id of the next journaled swing.
+     */
+    private long nextSwing = 1;
+
+    /**
+     * The amount of server ticks elapsed since the last flush.
+     */
+    private int ticks;
+
+    protected BreakJournal() {
+        ;
+    }
+
+    /**
+     * Opens the journal file {@code file}, creating it if absent.
+     * <p>A partial record at the end of the file, e.g. after a crash, is cut off.
+     * The swing ids continue after the highest id recorded within the file.
+     *
+     * @param file the journal file to append to
+     */
+    public void open(@Nonnull File file) {
+        Validate.notNull(file);
+        close();
+        if (!HammersConfig.journal)
+            return;
+
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+                throw new IOException("Could not create " + parent);
+
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size() - channel.size() % RECORD_SIZE;
+            channel.truncate(size);
+
+            if (buffer == null || buffer.capacity() != HammersConfig.journalBuffer * RECORD_SIZE)
+                buffer = ByteBuffer.allocateDirect(HammersConfig.journalBuffer * RECORD_SIZE);
+            buffer.clear();
+            nextSwing = highestSwing(channel, size) + 1;
+            this.channel = channel;
+        } catch (IOException ex) {
+            LOGGER.error("Could not open hammer journal " + file, ex);
+        }
+    }
+
+    /**
+     * Returns the highest swing id recorded within the first {@code size} bytes of the
+     * {@code channel}, or zero if it is empty.
+     * <p>The swings interleave, as their ids are assigned when first recording, so every
+     * record is read instead of only the last one.
+     */
+    private static long highestSwing(FileChannel channel, long size) throws IOException {
+        ByteBuffer read = ByteBuffer.allocateDirect(READ_RECORDS * RECORD_SIZE);
+        long highest = 0;
+        for (long start = 0; start < size; start += read.capacity()) {
+            read.clear().limit((int) Math.min(read.capacity(), size - start));
+            while (read.hasRemaining()) {
+                if (channel.read(read, start + read.position()) < 0)
+                    throw new IOException("journal truncated while reading");
+            }
+            for (int offset = 0; offset < read.limit(); offset += RECORD_SIZE) {
+                highest = Math.max(highest, read.getLong(offset));
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Flushes and closes the journal file, if open.
+     */
+    public void close() {
+        if (channel == null)
+            return;
+
+        flush();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            LOGGER.error("Could not close hammer journal", ex);
+        }
+        channel = null;
+    }
+
+    /**
+     * Returns whether the journal file is open.
+     *
+     * @return <em>True</em> if broken blocks are recorded
+     */
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Returns a new swing id, unique within the journal file.
+     *
+     * @return the id of the swing to be journaled
+     */
+    public long nextSwingId() {
+        return nextSwing++;
+    }
+
+    /**
+     * Records the {@code block} broken at {@code x}, {@code y} and {@code z} by
+     * the swing {@code swingId} of the {@code player}.
+     * <p>This does nothing, if the journal is not {@link #isOpen() open}.
+     *
+     * @param swingId  the id of the swing, as of {@link #nextSwingId()}
+     * @param player   the player that swung the hammer
+     * @param world    the world the block was located in
+     * @param x        the tridi-x of the block
+     * @param y        the tridi-y of the block
+     * @param z        the tridi-z of the block
+     * @param block    the broken block
+     * @param metadata the metadata of the broken block
+     */
+    public void record(long swingId, @Nonnull EntityPlayer player, @Nonnull World world,
+                       int x, int y, int z, @Nonnull Block block, int metadata) {
+        if (channel == null)
+            return;
+        if (!buffer.hasRemaining())
+            flush();
+
+        UUID uuid = player.getUniqueID();
+        buffer.putLong(swingId)
+                .putLong(PackedPositions.pack(x, y, z))
+                .putLong(world.getTotalWorldTime())
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .putInt(world.provider.dimensionId)
+                .putInt(Block.getIdFromBlock(block) << 4 | metadata);
+    }
+
+    /**
+     * Appends every buffered record to the journal file.
+     */
+    public void flush() {
+        if (channel == null || buffer.position() == 0)
+            return;
+
+        buffer.flip();
+        try {
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException ex) {
+            LOGGER.error("Could not write hammer journal, records are lost", ex);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffered records every {@link #FLUSH_INTERVAL} ticks.
+     */
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && ++ticks >= FLUSH_INTERVAL) {
+            ticks = 0;
+            flush();
+        }
+    }
+
+    /**
+     * Rolls the last {@code swings} swings of the {@code player} back.
+     *
+     * @param player the unique id of the player
+     * @param swings the amount of swings to roll back
+     * @return the amount of blocks restored
+     * @throws IOException if the journal could not be read
+     * @see #rollbackSwing(long)
+     */
+    public int rollback(@Nonnull UUID player, int swings) throws IOException {
+        Validate.notNull(player);
+        Validate.isTrue(swings > 0, "swings must be positive: %d", swings);
+        final long most = player.getMostSignificantBits();
+        final long least = player.getLeastSignificantBits();
+        final long[] selected = new long[swings];
+        final int[] count = {0};
+        return replay((swing, mostBits, leastBits) -> {
+            if (mostBits != most || leastBits != least)
+                return SKIP;
+            for (int i = 0; i < count[0]; i++) {
+                if (selected[i] == swing)
+                    return RESTORE;
+            }
+
+            //Every record older than the last selected swing is left untouched
+            if (count[0] == swings)
+                return STOP;
+            selected[count[0]++] = swing;
+            return RESTORE;
+        });
+    }
+
+    /**
+     * Rolls the single swing with the id {@code swingId} back.
+     * <p>The whole journal file is read for this, as the records of
+     * swings processed over multiple ticks are interleaved.
+     *
+     * @param swingId the id of the swing to roll back
+     * @return the amount of blocks restored
+     * @throws IOException if the journal could not be read
+     */
+    public int rollbackSwing(long swingId) throws IOException {
+        return replay((swing, mostBits, leastBits) -> swing == swingId ? RESTORE : SKIP);
+    }
+
+    /**
+     * Reads the journal file backwards and restores every record
+     * selected by the {@code selector}, until it stops.
+     * <p>A block is only restored, if its chunk is loaded and its cell is still air,
+     * so blocks placed afterwards are never replaced.
+     */
+    private int replay(Selector selector) throws IOException {
+        Validate.validState(channel != null, "journal is not open");
+        flush();
+
+        ByteBuffer read = ByteBuffer.allocateDirect(READ_RECORDS * RECORD_SIZE);
+        int restored = 0;
+        for (long end = channel.size(); end > 0; ) {
+            long start = Math.max(0, end - read.capacity());
+            read.clear().limit((int) (end - start));
+            while (read.hasRemaining()) {
+                if (channel.read(read, start + read.position()) < 0)
+                    throw new IOException("journal truncated while reading");
+            }
+
+            //The records of a block are replayed from the newest to the oldest
+            for (int offset = (int) (end - start) - RECORD_SIZE; offset >= 0; offset -= RECORD_SIZE) {
+                int selection = selector.select(read.getLong(offset),
+                        read.getLong(offset + 24), read.getLong(offset + 32));
+                if (selection == STOP)
+                    return restored;
+                if (selection == RESTORE && restore(read.getLong(offset + 8),
+                        read.getInt(offset + 40), read.getInt(offset + 44)))
+                    ++restored;
+            }
+            end = start;
+        }
+        return restored;
+    }
+
+    /**
+     * Restores the {@code state} at the {@code packed} position of the dimension,
+     * if the chunk is loaded and the cell is air.
+     */
+    private static boolean restore(long packed, int dimension, int state) {
+        World world = DimensionManager.getWorld(dimension);
+        if (world == null)
+            return false;
+
+        int x = PackedPositions.unpackX(packed);
+        int y = PackedPositions.unpackY(packed);
+        int z = PackedPositions.unpackZ(packed);
+        if (!world.blockExists(x, y, z) || !world.isAirBlock(x, y, z))
+            return false;
+        return world.setBlock(x, y, z, Block.getBlockById(state >> 4), state & 15, 3);
+    }
+
+    /**
+     * Selects the records to be restored while reading the journal backwards.
+     */
+    private interface Selector {
+
+        /**
+         * Returns either {@link BreakJournal#SKIP}, {@link BreakJournal#RESTORE}
+         * or {@link BreakJournal#STOP} for a record.
+         */
+        int select(long swing, long mostBits, long leastBits);
+
+    }
+
+}
@@ -0,0 +1,8 @@
+/**
+ * This package contains the journal of the blocks broken by hammer swings,
+ * used to audit and roll back swings.
+ *
+ * @see mindcubr.github.forge.hammers.journal.BreakJournal
+ */
+
+package mindcubr.github.forge.hammers.journal;
@@ -0,0 +1,44 @@
+package mindcubr.github.forge.hammers.network;
+
+import cpw.mods.fml.common.network.NetworkRegistry;
+import cpw.mods.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import cpw.mods.fml.relauncher.Side;
+import mindcubr.github.forge.hammers.Reference;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The <b>Hammers Network</b> contains the network channel of this modification.
+ * <p>The messages are registered by {@link #register()} within the pre-initialization.
+ *
+ * @author mindcubr
+ * @since 4.0.0-alpha
+ */
+public final class HammersNetwork {
+
+    /**
+     * The channel of this modification, named after the {@link Reference#MOD_ID}.
+     */
+    public static final SimpleNetworkWrapper CHANNEL = NetworkRegistry.INSTANCE.newSimpleChannel(Reference.MOD_ID);
+
+    /**
+     * Boolean that is declared <em>True</em>, if the messages are registered.
+     */
+    private static boolean registered;
+
+    private HammersNetwork() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Registers every message of the {@link #CHANNEL}.
+     * <p>This method can only be invoked once.
+     */
+    public static void register() {
+        Validate.isTrue(!registered);
+        CHANNEL.registerMessage(MessageSwingEffect.Handler.class, MessageSwingEffect.class, 0, Side.CLIENT);
+        CHANNEL.registerMessage(MessageSwingAck.Handler.class, MessageSwingAck.class, 1, Side.CLIENT);
+        CHANNEL.registerMessage(MessageWatchdogLevel.Handler.class, MessageWatchdogLevel.class, 2, Side.CLIENT);
+        registered = true;
+    }
+
+}
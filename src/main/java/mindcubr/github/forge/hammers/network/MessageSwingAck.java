@@ -0,0 +1,79 @@
+package mindcubr.github.forge.hammers.network;
+
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
+import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
+import cpw.mods.fml.common.network.simpleimpl.MessageContext;
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import mindcubr.github.forge.hammers.HammersMod;
+
+/**
+ * The <b>Swing Acknowledgement</b> message tells the swinging player, that the
+ * server accepted its swing, or that the swing is finished.
+ * <p>An accepted swing may be queued by the server for a while, so its prediction
+ * is no longer expired by the client. A finished swing, including a cancelled one,
+ * restores every predicted cell the server did not break.
+ * <p>The swing is identified by its breaking center.
+ *
+ * @author mindcubr
+ * @see HammersNetwork
+ * @since 4.0.0-alpha
+ */
+public class MessageSwingAck implements IMessage {
+
+    /**
+     * The tridi-coordinates of the breaking center of the swing.
+     */
+    @Getter
+    private int centerX, centerY, centerZ;
+
+    /**
+     * Whether the swing is finished, otherwise it was accepted.
+     */
+    @Getter
+    private boolean finished;
+
+    /**
+     * Constructor required by the channel for incoming messages.
+     */
+    public MessageSwingAck() {
+        ;
+    }
+
+    public MessageSwingAck(int centerX, int centerY, int centerZ, boolean finished) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.finished = finished;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        centerX = buf.readInt();
+        centerY = buf.readUnsignedByte();
+        centerZ = buf.readInt();
+        finished = buf.readBoolean();
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeInt(centerX);
+        buf.writeByte(centerY);
+        buf.writeInt(centerZ);
+        buf.writeBoolean(finished);
+    }
+
+    /**
+     * The handler of incoming acknowledgements, passing them to the client proxy.
+     */
+    public static class Handler implements IMessageHandler<MessageSwingAck, IMessage> {
+
+        @Override
+        public IMessage onMessage(MessageSwingAck message, MessageContext ctx) {
+            HammersMod.proxy.acknowledgeSwing(message);
+            return null;
+        }
+
+    }
+
+}
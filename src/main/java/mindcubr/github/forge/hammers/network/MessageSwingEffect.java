@@ -0,0 +1,118 @@
+package mindcubr.github.forge.hammers.network;
+
+import cpw.mods.fml.common.network.ByteBufUtils;
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
+import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
+import cpw.mods.fml.common.network.simpleimpl.MessageContext;
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import mindcubr.github.forge.hammers.HammersMod;
+import mindcubr.github.forge.hammers.area.PackedPositions;
+
+import java.util.Arrays;
+
+/**
+ * The <b>Swing Effect</b> message contains the break effects of every cell
+ * removed by a hammer swing, so a single message is sent instead of an
+ * effect packet per cell.
+ * <p>The client expands the message locally into the usual break sound and
+ * particles of every cell, as of the auxiliary effect <code>2001</code>.
+ * <p>The cells are written relative to the first cell, so every cell takes
+ * six bytes plus the variable length of its state.
+ *
+ * @author mindcubr
+ * @see HammersNetwork
+ * @since 4.0.0-alpha
+ */
+public class MessageSwingEffect implements IMessage {
+
+    /**
+     * The {@link PackedPositions packed} cells of the effects.
+     */
+    private long[] cells;
+
+    /**
+     * The broken state of every cell, so the block id plus the metadata
+     * shifted by twelve bits.
+     */
+    private int[] states;
+
+    /**
+     * The amount of effects within this message.
+     */
+    @Getter
+    private int length;
+
+    /**
+     * Constructor required by the channel for incoming messages.
+     */
+    public MessageSwingEffect() {
+        ;
+    }
+
+    public MessageSwingEffect(long[] cells, int[] states, int length) {
+        this.cells = Arrays.copyOf(cells, length);
+        this.states = Arrays.copyOf(states, length);
+        this.length = length;
+    }
+
+    /**
+     * Returns the {@link PackedPositions packed} cell of the effect at {@code index}.
+     */
+    public long getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Returns the broken state of the effect at {@code index}.
+     */
+    public int getState(int index) {
+        return states[index];
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        int originX = buf.readInt();
+        int originY = buf.readUnsignedByte();
+        int originZ = buf.readInt();
+        length = ByteBufUtils.readVarInt(buf, 5);
+        cells = new long[length];
+        states = new int[length];
+        for (int i = 0; i < length; i++) {
+            cells[i] = PackedPositions.pack(originX + buf.readShort(),
+                    originY + buf.readShort(), originZ + buf.readShort());
+            states[i] = ByteBufUtils.readVarInt(buf, 5);
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        int originX = length == 0 ? 0 : PackedPositions.unpackX(cells[0]);
+        int originY = length == 0 ? 0 : PackedPositions.unpackY(cells[0]);
+        int originZ = length == 0 ? 0 : PackedPositions.unpackZ(cells[0]);
+        buf.writeInt(originX);
+        buf.writeByte(originY);
+        buf.writeInt(originZ);
+        ByteBufUtils.writeVarInt(buf, length, 5);
+        for (int i = 0; i < length; i++) {
+            buf.writeShort(PackedPositions.unpackX(cells[i]) - originX);
+            buf.writeShort(PackedPositions.unpackY(cells[i]) - originY);
+            buf.writeShort(PackedPositions.unpackZ(cells[i]) - originZ);
+            ByteBufUtils.writeVarInt(buf, states[i], 5);
+        }
+    }
+
+    /**
+     * The handler of incoming swing effects, passing them to the client proxy.
+     */
+    public static class Handler implements IMessageHandler<MessageSwingEffect, IMessage> {
+
+        @Override
+        public IMessage onMessage(MessageSwingEffect message, MessageContext ctx) {
+            HammersMod.proxy.playSwingEffect(message);
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package mindcubr.github.forge.hammers.network;
+
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
+import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
+import cpw.mods.fml.common.network.simpleimpl.MessageContext;
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import mindcubr.github.forge.hammers.HammersMod;
+import mindcubr.github.forge.hammers.area.HammerWatchdog;
+
+/**
+ * The <b>Watchdog Level</b> message tells the players the {@link HammerWatchdog.Level},
+ * the server degraded the hammers to, so the client predicts the swings as the server breaks them.
+ * <p>The level is sent on every transition and to every player joining the server.
+ *
+ * @author mindcubr
+ * @see HammersNetwork
+ * @since 4.0.0-alpha
+ */
+public class MessageWatchdogLevel implements IMessage {
+
+    /**
+     * The degradation level of the server.
+     */
+    @Getter
+    private HammerWatchdog.Level level;
+
+    /**
+     * Constructor required by the channel for incoming messages.
+     */
+    public MessageWatchdogLevel() {
+        ;
+    }
+
+    public MessageWatchdogLevel(HammerWatchdog.Level level) {
+        this.level = level;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        HammerWatchdog.Level[] levels = HammerWatchdog.Level.values();
+        level = levels[Math.min(buf.readUnsignedByte(), levels.length - 1)];
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeByte(level.ordinal());
+    }
+
+    /**
+     * The handler of incoming levels, passing them to the client proxy.
+     */
+    public static class Handler implements IMessageHandler<MessageWatchdogLevel, IMessage> {
+
+        @Override
+        public IMessage onMessage(MessageWatchdogLevel message, MessageContext ctx) {
+            HammersMod.proxy.syncWatchdogLevel(message.getLevel());
+            return null;
+        }
+
+    }
+
+}
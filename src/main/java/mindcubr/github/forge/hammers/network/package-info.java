@@ -0,0 +1,8 @@
+/**
+ * This package contains the network channel of this modification and
+ * every message sent through it.
+ *
+ * @see mindcubr.github.forge.hammers.network.HammersNetwork
+ */
+
+package mindcubr.github.forge.hammers.network;
@@ -0,0 +1,248 @@
+package mindcubr.github.forge.hammers.proxy;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.area.PackedPositions;
+import mindcubr.github.forge.hammers.area.RegionSnapshot;
+import mindcubr.github.forge.hammers.area.SwingPlan;
+import mindcubr.github.forge.hammers.area.shape.CompiledShape;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.MovingObjectPosition;
+import net.minecraft.world.World;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import org.lwjgl.opengl.GL11;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The <b>Area Preview</b> outlines every cell the looked at block would take
+ * along, if it was broken with the held hammer.
+ * <p>The outline is compiled into a display list once per compiled shape and
+ * occupancy of the cells around the center, relative to the center. The occupancy
+ * is computed once per client tick and the display list is only rebuilt if the
+ * occupancy changed, so every frame only translates to the center and calls the list.
+ * The display lists are cached, so looking back at a known area does not rebuild it.
+ * <p>The preview has to be registered to the FML and the Forge event bus.
+ *
+ * @author mindcubr
+ * @see HammersConfig#areaPreview
+ * @since 4.0.0-alpha
+ */
+public class AreaPreview {
+
+    /**
+     * The amount of display lists cached, the least recently used one is deleted first.
+     */
+    private static final int CACHE_SIZE = 16;
+
+    /**
+     * The expansion of the outline beyond the cell, so it is not hidden by the block.
+     */
+    private static final double EXPAND = 0.002D;
+
+    /**
+     * The compiled display lists of every recently previewed area.
+     */
+    private final Map<Key, Integer> lists = new LinkedHashMap<>(CACHE_SIZE, 0.75F, true);
+
+    /**
+     * The area currently previewed, null if nothing is previewed.
+     */
+    private Key current;
+
+    /**
+     * The tridi-coordinates of the center of the {@link #current} area.
+     */
+    private int centerX, centerY, centerZ;
+
+    /**
+     * Computes the area of the looked at block once per client tick.
+     */
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END)
+            return;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        current = null;
+        if (mc.theWorld == null) {
+            clear();
+            return;
+        }
+
+        EntityPlayer player = mc.thePlayer;
+        MovingObjectPosition hit = mc.objectMouseOver;
+        ItemStack stack = player == null ? null : player.getCurrentEquippedItem();
+        if (!HammersConfig.areaPreview || hit == null || hit.typeOfHit != MovingObjectPosition.MovingObjectType.BLOCK
+                || stack == null || !(stack.getItem() instanceof ItemHammerTool))
+            return;
+
+        ItemHammerTool tool = (ItemHammerTool) stack.getItem();
+        World world = mc.theWorld;
+        int x = hit.blockX, y = hit.blockY, z = hit.blockZ;
+        if (!tool.isBreakable(world, x, y, z))
+            return;
+
+        //The occupancy of the shape, relative to the center
+        CompiledShape shape = tool.getShapes().get(tool.getShape(stack), hit.sideHit);
+        RegionSnapshot region = RegionSnapshot.capture(world,
+                x + shape.getMinX(), y + shape.getMinY(), z + shape.getMinZ(),
+                x + shape.getMaxX(), y + shape.getMaxY(), z + shape.getMaxZ());
+        SwingPlan plan = SwingPlan.compute(tool.getBreakability(world), region, shape, x, y, z, true);
+        BitSet occupancy = new BitSet(shape.size());
+        for (int n = plan.getLength(), i = 0, j = 0; i < n; i++) {
+            long cell = plan.getCell(i);
+            int cx = PackedPositions.unpackX(cell);
+            int cy = PackedPositions.unpackY(cell);
+            int cz = PackedPositions.unpackZ(cell);
+            int state = plan.getState(i);
+            if (plan.isUnresolved(i) && !tool.isBreakable(world, cx, cy, cz, state >> 4, state & 15))
+                continue;
+
+            //The planned cells are in the order of the shape offsets
+            while (x + CompiledShape.offsetX(shape.get(j)) != cx || y + CompiledShape.offsetY(shape.get(j)) != cy
+                    || z + CompiledShape.offsetZ(shape.get(j)) != cz)
+                ++j;
+            occupancy.set(j);
+        }
+
+        current = new Key(shape, occupancy);
+        centerX = x;
+        centerY = y;
+        centerZ = z;
+    }
+
+    /**
+     * Renders the outline of the {@link #current} area.
+     */
+    @SubscribeEvent
+    public void onRenderWorldLast(RenderWorldLastEvent event) {
+        Key key = current;
+        EntityPlayer player = Minecraft.getMinecraft().thePlayer;
+        if (key == null || player == null)
+            return;
+
+        float partial = event.partialTicks;
+        double px = player.lastTickPosX + (player.posX - player.lastTickPosX) * partial;
+        double py = player.lastTickPosY + (player.posY - player.lastTickPosY) * partial;
+        double pz = player.lastTickPosZ + (player.posZ - player.lastTickPosZ) * partial;
+
+        GL11.glPushMatrix();
+        GL11.glTranslated(centerX - px, centerY - py, centerZ - pz);
+        GL11.glEnable(GL11.GL_BLEND);
+        OpenGlHelper.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA, GL11.GL_ONE, GL11.GL_ZERO);
+        GL11.glColor4f(0.0F, 0.0F, 0.0F, 0.4F);
+        GL11.glLineWidth(2.0F);
+        GL11.glDisable(GL11.GL_TEXTURE_2D);
+        GL11.glDepthMask(false);
+        GL11.glCallList(list(key));
+        GL11.glDepthMask(true);
+        GL11.glEnable(GL11.GL_TEXTURE_2D);
+        GL11.glDisable(GL11.GL_BLEND);
+        GL11.glPopMatrix();
+    }
+
+    /**
+     * Returns the display list of the {@code key}, compiling it if absent.
+     */
+    private int list(Key key) {
+        Integer list = lists.get(key);
+        if (list != null)
+            return list;
+
+        //Delete the least recently used list
+        if (lists.size() >= CACHE_SIZE) {
+            Iterator<Integer> itr = lists.values().iterator();
+            GLAllocation.deleteDisplayLists(itr.next());
+            itr.remove();
+        }
+
+        list = GLAllocation.generateDisplayLists(1);
+        GL11.glNewList(list, GL11.GL_COMPILE);
+        Tessellator tessellator = Tessellator.instance;
+        tessellator.startDrawing(GL11.GL_LINES);
+        for (int i = key.occupancy.nextSetBit(0); i >= 0; i = key.occupancy.nextSetBit(i + 1)) {
+            int offset = key.shape.get(i);
+            addOutline(tessellator, CompiledShape.offsetX(offset),
+                    CompiledShape.offsetY(offset), CompiledShape.offsetZ(offset));
+        }
+        tessellator.draw();
+        GL11.glEndList();
+        lists.put(key, list);
+        return list;
+    }
+
+    /**
+     * Adds the twelve edges of the cell at the input offsets.
+     */
+    private static void addOutline(Tessellator tessellator, int dx, int dy, int dz) {
+        double minX = dx - EXPAND, minY = dy - EXPAND, minZ = dz - EXPAND;
+        double maxX = dx + 1 + EXPAND, maxY = dy + 1 + EXPAND, maxZ = dz + 1 + EXPAND;
+        for (int i = 0; i < 4; i++) {
+            double a = (i & 1) == 0 ? 0 : 1, b = (i & 2) == 0 ? 0 : 1;
+
+            //The edges along y, x and z
+            double x = a == 0 ? minX : maxX, z = b == 0 ? minZ : maxZ;
+            tessellator.addVertex(x, minY, z);
+            tessellator.addVertex(x, maxY, z);
+            double y = a == 0 ? minY : maxY;
+            tessellator.addVertex(minX, y, z);
+            tessellator.addVertex(maxX, y, z);
+            y = b == 0 ? minY : maxY;
+            tessellator.addVertex(x, y, minZ);
+            tessellator.addVertex(x, y, maxZ);
+        }
+    }
+
+    /**
+     * Deletes every cached display list.
+     */
+    private void clear() {
+        for (int list : lists.values()) {
+            GLAllocation.deleteDisplayLists(list);
+        }
+        lists.clear();
+    }
+
+    /**
+     * The compiled shape together with the occupancy of its offsets.
+     */
+    private static class Key {
+
+        final CompiledShape shape;
+
+        final BitSet occupancy;
+
+        Key(CompiledShape shape, BitSet occupancy) {
+            this.shape = shape;
+            this.occupancy = occupancy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return shape == key.shape && occupancy.equals(key.occupancy);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(shape) + occupancy.hashCode();
+        }
+
+    }
+
+}
@@ -0,0 +1,429 @@
+package mindcubr.github.forge.hammers.proxy;
+
+import cpw.mods.fml.common.FMLCommonHandler;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import mindcubr.github.forge.hammers.HammersConfig;
+import mindcubr.github.forge.hammers.area.HammerWatchdog;
+import mindcubr.github.forge.hammers.area.PackedPositions;
+import mindcubr.github.forge.hammers.area.RegionSnapshot;
+import mindcubr.github.forge.hammers.area.SwingPlan;
+import mindcubr.github.forge.hammers.area.shape.CompiledShape;
+import mindcubr.github.forge.hammers.area.shape.HammerShape;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import mindcubr.github.forge.hammers.network.MessageSwingAck;
+import mindcubr.github.forge.hammers.network.MessageSwingEffect;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.audio.PositionedSoundRecord;
+import net.minecraft.client.particle.EffectRenderer;
+import net.minecraft.client.particle.EntityDiggingFX;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The <b>Client Proxy</b> is the proxy of the client.
+ * <p>Received swing effects are queued by the network thread and played at the
+ * next client tick within a budget. A swing plays a single merged break sound,
+ * and only a sample of at most {@link HammersConfig#effectCellsPerSwing} cells spawns
+ * particles. The particles are spread over the following frames, so at most
+ * {@link HammersConfig#particlesPerFrame} are spawned within a single frame.
+ * <p>Swings of the player are predicted, so their cells are hidden right away. The
+ * received swing effects confirm the predicted cells. Once the server acknowledges
+ * the swing as accepted, the prediction waits for the swing to finish, however long
+ * it is queued, and restores every cell not confirmed then. Predictions the server
+ * did not acknowledge within {@link HammersConfig#predictionTicks} are restored entirely.
+ * <p>The predicted shape follows the synchronized {@link HammerWatchdog.Level} of the server,
+ * and no swing is predicted while the server only breaks the center.
+ *
+ * @author mindcubr
+ * @see mindcubr.github.forge.hammers.HammersMod#proxy
+ * @since 4.0.0-alpha
+ */
+public class ClientProxy extends CommonProxy {
+
+    /**
+     * The amount of particles per axis of a sampled cell, vanilla uses four.
+     */
+    private static final int PARTICLE_GRID = 2;
+
+    /**
+     * The amount of particles spawned for a single sampled cell.
+     */
+    private static final int PARTICLES_PER_CELL = PARTICLE_GRID * PARTICLE_GRID * PARTICLE_GRID;
+
+    /**
+     * The received swing effects, not played yet.
+     */
+    private final Queue<MessageSwingEffect> effects = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The received swing acknowledgements, not resolved yet.
+     */
+    private final Queue<MessageSwingAck> acks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The sampled swing effects, whose particles are not spawned yet.
+     */
+    private final Deque<MessageSwingEffect> particles = new ArrayDeque<>();
+
+    /**
+     * The index of the next cell within the head of the {@link #particles}.
+     */
+    private int cursor;
+
+    /**
+     * The predicted swings, whose cells are not all confirmed by the server yet.
+     */
+    private final Deque<Prediction> predictions = new ArrayDeque<>();
+
+    /**
+     * The degradation level of the server, as received last.
+     */
+    private volatile HammerWatchdog.Level serverLevel = HammerWatchdog.Level.NORMAL;
+
+    @Override
+    public void preInit() {
+        FMLCommonHandler.instance().bus().register(this);
+
+        //Outline of the area the held hammer would break
+        AreaPreview preview = new AreaPreview();
+        FMLCommonHandler.instance().bus().register(preview);
+        MinecraftForge.EVENT_BUS.register(preview);
+    }
+
+    @Override
+    public void playSwingEffect(@Nonnull MessageSwingEffect message) {
+        effects.add(Validate.notNull(message));
+    }
+
+    @Override
+    public void acknowledgeSwing(@Nonnull MessageSwingAck message) {
+        acks.add(Validate.notNull(message));
+    }
+
+    @Override
+    public void syncWatchdogLevel(@Nonnull HammerWatchdog.Level level) {
+        serverLevel = Validate.notNull(level);
+    }
+
+    /**
+     * Hides every cell the swing is going to break within the client world, as the
+     * server would plan it. The breaking center is hidden by the vanilla breaking.
+     * <p>Cells with a tile entity and the {@link HammerShape#VEIN vein} are left to the server.
+     */
+    @Override
+    public void predictSwing(@Nonnull ItemHammerTool tool, @Nonnull ItemStack stack,
+                             @Nonnull EntityPlayer player, int x, int y, int z) {
+        HammerShape selected = tool.getShape(stack);
+        final HammerWatchdog.Level level = serverLevel;
+        if (!HammersConfig.clientPrediction || selected == HammerShape.VEIN
+                || level == HammerWatchdog.Level.CENTER_ONLY)
+            return;
+
+        final World world = player.worldObj;
+        CompiledShape shape = tool.getShapes(level).get(selected, tool.getHitFace(world, player, x, y, z));
+        RegionSnapshot region = RegionSnapshot.capture(world,
+                x + shape.getMinX(), y + shape.getMinY(), z + shape.getMinZ(),
+                x + shape.getMaxX(), y + shape.getMaxY(), z + shape.getMaxZ());
+        SwingPlan plan = SwingPlan.compute(tool.getBreakability(world), region, shape, x, y, z, false);
+        Prediction prediction = new Prediction(world, PackedPositions.pack(x, y, z), plan.getLength(),
+                world.getTotalWorldTime() + HammersConfig.predictionTicks);
+        for (int n = plan.getLength(), i = 0; i < n; i++) {
+            long cell = plan.getCell(i);
+            int state = plan.getState(i);
+            int cx = PackedPositions.unpackX(cell);
+            int cy = PackedPositions.unpackY(cell);
+            int cz = PackedPositions.unpackZ(cell);
+            if (plan.isUnresolved(i) && !tool.isBreakable(world, cx, cy, cz, state >> 4, state & 15)
+                    || Block.getBlockById(state >> 4).hasTileEntity(state & 15))
+                continue;
+            if (world.setBlock(cx, cy, cz, Blocks.air, 0, 3))
+                prediction.add(cell, state);
+        }
+        if (prediction.pending > 0)
+            predictions.addLast(prediction);
+    }
+
+    /**
+     * Plays the merged sound of the received swing effects and samples
+     * the cells spawning particles.
+     */
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END)
+            return;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        if (mc.theWorld == null) {
+            effects.clear();
+            acks.clear();
+            particles.clear();
+            predictions.clear();
+            cursor = 0;
+            serverLevel = HammerWatchdog.Level.NORMAL;
+            return;
+        }
+
+        for (MessageSwingEffect message; (message = effects.poll()) != null; ) {
+            if (message.getLength() == 0)
+                continue;
+            confirm(message);
+            playMergedSound(mc, message);
+
+            //Minimal particles disable the particles entirely, decreased halves the sample
+            int sample = HammersConfig.effectCellsPerSwing;
+            if (mc.gameSettings.particleSetting == 1)
+                sample >>= 1;
+            else if (mc.gameSettings.particleSetting > 1)
+                sample = 0;
+            if (sample > 0)
+                particles.addLast(sampleCells(message, sample));
+        }
+
+        //The effects sent before an acknowledgement are confirmed above already
+        for (MessageSwingAck ack; (ack = acks.poll()) != null; ) {
+            acknowledge(ack);
+        }
+        expirePredictions(mc.theWorld);
+    }
+
+    /**
+     * Confirms every predicted cell contained by the {@code message}, as the server broke it.
+     */
+    private void confirm(MessageSwingEffect message) {
+        if (predictions.isEmpty())
+            return;
+
+        for (Prediction prediction : predictions) {
+            for (int n = message.getLength(), i = 0; i < n && prediction.pending > 0; i++) {
+                prediction.confirm(message.getCell(i));
+            }
+        }
+    }
+
+    /**
+     * Resolves the oldest prediction of the swing acknowledged by the {@code ack}.
+     * <p>An accepted prediction no longer expires, a finished one rolls back
+     * every cell the server did not break.
+     */
+    private void acknowledge(MessageSwingAck ack) {
+        long center = PackedPositions.pack(ack.getCenterX(), ack.getCenterY(), ack.getCenterZ());
+        for (Iterator<Prediction> itr = predictions.iterator(); itr.hasNext(); ) {
+            Prediction prediction = itr.next();
+            if (prediction.center != center || !ack.isFinished() && prediction.acknowledged)
+                continue;
+
+            if (ack.isFinished()) {
+                prediction.rollback();
+                itr.remove();
+            } else {
+                prediction.acknowledged = true;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Drops the fully confirmed predictions and rolls back the cells of the expired ones,
+     * the server did not acknowledge.
+     */
+    private void expirePredictions(World world) {
+        for (Iterator<Prediction> itr = predictions.iterator(); itr.hasNext(); ) {
+            Prediction prediction = itr.next();
+            if (prediction.world != world || prediction.pending == 0) {
+                itr.remove();
+            } else if (!prediction.acknowledged && world.getTotalWorldTime() >= prediction.expiresAt) {
+                prediction.rollback();
+                itr.remove();
+            }
+        }
+    }
+
+    /**
+     * Spawns the particles of the sampled cells within the frame budget.
+     */
+    @SubscribeEvent
+    public void onRenderTick(TickEvent.RenderTickEvent event) {
+        if (event.phase != TickEvent.Phase.START || particles.isEmpty())
+            return;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        World world = mc.theWorld;
+        if (world == null)
+            return;
+
+        int budget = HammersConfig.particlesPerFrame;
+        while (budget >= PARTICLES_PER_CELL && !particles.isEmpty()) {
+            MessageSwingEffect message = particles.peekFirst();
+            long cell = message.getCell(cursor);
+            int state = message.getState(cursor);
+            spawnParticles(world, mc.effectRenderer, PackedPositions.unpackX(cell),
+                    PackedPositions.unpackY(cell), PackedPositions.unpackZ(cell),
+                    Block.getBlockById(state & 4095), state >> 12 & 15);
+            budget -= PARTICLES_PER_CELL;
+
+            if (++cursor >= message.getLength()) {
+                particles.pollFirst();
+                cursor = 0;
+            }
+        }
+    }
+
+    /**
+     * Plays a single break sound of the first broken block at the center of the cells.
+     */
+    private static void playMergedSound(Minecraft mc, MessageSwingEffect message) {
+        Block block = Block.getBlockById(message.getState(0) & 4095);
+        if (block.getMaterial() == Material.air)
+            return;
+
+        double x = 0, y = 0, z = 0;
+        final int length = message.getLength();
+        for (int i = 0; i < length; i++) {
+            long cell = message.getCell(i);
+            x += PackedPositions.unpackX(cell);
+            y += PackedPositions.unpackY(cell);
+            z += PackedPositions.unpackZ(cell);
+        }
+
+        mc.getSoundHandler().playSound(new PositionedSoundRecord(
+                new ResourceLocation(block.stepSound.getBreakSound()),
+                (block.stepSound.getVolume() + 1.0F) / 2.0F, block.stepSound.getPitch() * 0.8F,
+                (float) (x / length + 0.5), (float) (y / length + 0.5), (float) (z / length + 0.5)));
+    }
+
+    /**
+     * Returns an evenly spread sample of at most {@code max} cells of the {@code message}.
+     */
+    private static MessageSwingEffect sampleCells(MessageSwingEffect message, int max) {
+        final int length = message.getLength();
+        final int count = Math.min(length, max);
+        long[] cells = new long[count];
+        int[] states = new int[count];
+        for (int i = 0; i < count; i++) {
+            int index = (int) ((long) i * length / count);
+            cells[i] = message.getCell(index);
+            states[i] = message.getState(index);
+        }
+        return new MessageSwingEffect(cells, states, count);
+    }
+
+    /**
+     * Spawns a reduced break particle burst of the {@code block} at {@code x}, {@code y} and {@code z}.
+     */
+    private static void spawnParticles(World world, EffectRenderer renderer,
+                                       int x, int y, int z, Block block, int metadata) {
+        if (block.getMaterial() == Material.air
+                || block.addDestroyEffects(world, x, y, z, metadata, renderer))
+            return;
+
+        for (int i = 0; i < PARTICLE_GRID; i++) {
+            for (int j = 0; j < PARTICLE_GRID; j++) {
+                for (int k = 0; k < PARTICLE_GRID; k++) {
+                    double px = x + (i + 0.5D) / PARTICLE_GRID;
+                    double py = y + (j + 0.5D) / PARTICLE_GRID;
+                    double pz = z + (k + 0.5D) / PARTICLE_GRID;
+                    renderer.addEffect(new EntityDiggingFX(world, px, py, pz,
+                            px - x - 0.5D, py - y - 0.5D, pz - z - 0.5D, block, metadata)
+                            .applyColourMultiplier(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * The cells of a single predicted swing.
+     */
+    private static class Prediction {
+
+        final World world;
+
+        /**
+         * The {@link PackedPositions packed} breaking center of the predicted swing.
+         */
+        final long center;
+
+        /**
+         * The {@link PackedPositions packed} hidden cells and their former states,
+         * so the block id shifted by four bits plus the metadata.
+         */
+        final long[] cells;
+        final int[] states;
+        int length;
+
+        /**
+         * The indices of the cells confirmed by the server.
+         */
+        final BitSet confirmed = new BitSet();
+
+        /**
+         * The amount of cells not confirmed yet.
+         */
+        int pending;
+
+        /**
+         * The total world time at which the pending cells are rolled back,
+         * unless the swing was {@link #acknowledged} by then.
+         */
+        final long expiresAt;
+
+        /**
+         * Whether the server accepted the swing, so the prediction waits for it to finish.
+         */
+        boolean acknowledged;
+
+        Prediction(World world, long center, int capacity, long expiresAt) {
+            this.world = world;
+            this.center = center;
+            this.cells = new long[capacity];
+            this.states = new int[capacity];
+            this.expiresAt = expiresAt;
+        }
+
+        void add(long cell, int state) {
+            cells[length] = cell;
+            states[length++] = state;
+            ++pending;
+        }
+
+        void confirm(long cell) {
+            for (int i = 0; i < length; i++) {
+                if (cells[i] == cell && !confirmed.get(i)) {
+                    confirmed.set(i);
+                    --pending;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Restores every pending cell, that is still hidden.
+         */
+        void rollback() {
+            for (int i = confirmed.nextClearBit(0); i < length; i = confirmed.nextClearBit(i + 1)) {
+                int x = PackedPositions.unpackX(cells[i]);
+                int y = PackedPositions.unpackY(cells[i]);
+                int z = PackedPositions.unpackZ(cells[i]);
+                if (world.isAirBlock(x, y, z))
+                    world.setBlock(x, y, z, Block.getBlockById(states[i] >> 4), states[i] & 15, 3);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package mindcubr.github.forge.hammers.proxy;
+
+import mindcubr.github.forge.hammers.area.HammerWatchdog;
+import mindcubr.github.forge.hammers.item.ItemHammerTool;
+import mindcubr.github.forge.hammers.network.MessageSwingAck;
+import mindcubr.github.forge.hammers.network.MessageSwingEffect;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The <b>Common Proxy</b> is the proxy of the dedicated server and the
+ * base of the {@link ClientProxy}.
+ * <p>Every method in here is doing nothing, as it is only relevant to the client.
+ *
+ * @author mindcubr
+ * @see mindcubr.github.forge.hammers.HammersMod#proxy
+ * @since 4.0.0-alpha
+ */
+public class CommonProxy {
+
+    /**
+     * Invoked within the pre-initialization of the modification.
+     */
+    public void preInit() {
+        ;
+    }
+
+    /**
+     * Plays the break effects of the {@code message} within the client world.
+     * <p>This method may be invoked by the network thread.
+     *
+     * @param message the received swing effects
+     */
+    public void playSwingEffect(@Nonnull MessageSwingEffect message) {
+        ;
+    }
+
+    /**
+     * Resolves the prediction of the swing acknowledged by the {@code message}.
+     * <p>This method may be invoked by the network thread.
+     *
+     * @param message the received acknowledgement
+     */
+    public void acknowledgeSwing(@Nonnull MessageSwingAck message) {
+        ;
+    }
+
+    /**
+     * Stores the {@code level} the server degraded the hammers to, for the predictions.
+     * <p>This method may be invoked by the network thread.
+     *
+     * @param level the received degradation level
+     */
+    public void syncWatchdogLevel(@Nonnull HammerWatchdog.Level level) {
+        ;
+    }
+
+    /**
+     * Predicts the swing of the {@code tool} at the breaking center within the client world,
+     * before the server confirms it.
+     *
+     * @param tool   the swung hammer tool
+     * @param stack  the swung hammer stack
+     * @param player the player swinging the hammer
+     * @param x      the tridi-x of the breaking center
+     * @param y      the tridi-y of the breaking center
+     * @param z      the tridi-z of the breaking center
+     */
+    public void predictSwing(@Nonnull ItemHammerTool tool, @Nonnull ItemStack stack,
+                             @Nonnull EntityPlayer player, int x, int y, int z) {
+        ;
+    }
+
+}
@@ -0,0 +1,8 @@
+/**
+ * This package contains the sided proxies of this modification, so
+ * client-only code is never loaded by a dedicated server.
+ *
+ * @see mindcubr.github.forge.hammers.HammersMod#proxy
+ */
+
+package mindcubr.github.forge.hammers.proxy;
@@ -84,7 +84,7 @@ public class HammerItems extends Register<HammerElement> {
      * happened.
      * <p>If the {@code element} is undefined, <em>False</em> is returned.
      * No side effects occur.
-     * <p>This operation is synchronized with the register itself.
+     * <p>This operation is synchronized with every other registration.
      *
      * @param element the element
      */
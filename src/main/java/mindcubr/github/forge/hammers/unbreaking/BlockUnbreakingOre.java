@@ -6,6 +6,7 @@ import cpw.mods.fml.common.registry.GameRegistry;
 import mindcubr.github.forge.hammers.HammerElement;
 import mindcubr.github.forge.hammers.HammersMod;
 import mindcubr.github.forge.hammers.Reference;
+import mindcubr.github.forge.hammers.area.DeterministicDrops;
 import mindcubr.github.forge.hammers.item.ItemUnbreakingIngot;
 import mindcubr.github.forge.hammers.register.HammerItems;
 import net.minecraft.block.Block;
@@ -26,7 +27,7 @@ import java.util.Random;
  * @author mindcubr
  * @since 1.0.0-0.1
  */
-public final class BlockUnbreakingOre extends Block implements HammerElement {
+public final class BlockUnbreakingOre extends Block implements HammerElement, DeterministicDrops {
 
     public BlockUnbreakingOre() {
         super(Material.rock /* Sound */);